@@ -0,0 +1,33 @@
+package com.shopease.cache;
+
+/**
+ * Point-in-time counters for one Hibernate second-level or query cache region.
+ */
+public class CacheRegionStats {
+    
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long elementsInMemory;
+    
+    public CacheRegionStats(String region, long hits, long misses, long puts, long elementsInMemory) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.elementsInMemory = elementsInMemory;
+    }
+    
+    // Getters
+    public String getRegion() { return region; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getPuts() { return puts; }
+    public long getElementsInMemory() { return elementsInMemory; }
+    
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
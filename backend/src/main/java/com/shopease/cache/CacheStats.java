@@ -0,0 +1,39 @@
+package com.shopease.cache;
+
+/**
+ * Point-in-time counters for a {@link LruTtlCache}, used to size the caches.
+ */
+public class CacheStats {
+    
+    private final String name;
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    
+    public CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions, long invalidations) {
+        this.name = name;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+    }
+    
+    // Getters
+    public String getName() { return name; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getInvalidations() { return invalidations; }
+    
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
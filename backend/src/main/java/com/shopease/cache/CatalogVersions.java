@@ -0,0 +1,82 @@
+package com.shopease.cache;
+
+import com.shopease.entity.Product;
+import com.shopease.event.ProductChangedEvent.ChangeType;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catalog-wide version counters behind the HTTP validators (ETag and
+ * Last-Modified) of the catalog endpoints. ProductService bumps them after it
+ * has evicted its caches, so a response never pairs a new tag with old data.
+ *
+ * Counters are node-local and restart at zero, so every tag carries the
+ * instance epoch: a tag from another node or an earlier run never matches.
+ */
+@Component
+public class CatalogVersions {
+    
+    // A counter and the time it last moved, in epoch millis
+    private record Version(long counter, long modifiedAt) {
+        Version next() {
+            return new Version(counter + 1, Math.max(System.currentTimeMillis(), modifiedAt));
+        }
+    }
+    
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    
+    // Product saves and deletes: categories and anything not reflected in updatedAt
+    private final AtomicReference<Version> catalog = new AtomicReference<>(new Version(0, System.currentTimeMillis()));
+    
+    // Everything that can reorder or change the featured list
+    private final AtomicReference<Version> featured = new AtomicReference<>(new Version(0, System.currentTimeMillis()));
+    
+    public void onProductChanged(ChangeType type) {
+        switch (type) {
+            case SAVED, DELETED -> {
+                catalog.updateAndGet(Version::next);
+                featured.updateAndGet(Version::next);
+            }
+            case RATING -> featured.updateAndGet(Version::next);
+            case STOCK -> {
+                // Stock writes bump the product's updatedAt, and featured summaries carry no stock
+            }
+        }
+    }
+    
+    // Product detail: its own updatedAt (stock, rating) plus the catalog counter (admin edits to collections)
+    public String productEtag(Product product) {
+        Version version = catalog.get();
+        return "\"p" + product.getId() + "-" + Long.toString(updatedAtMillis(product), 36) + "-"
+                + epoch + "." + version.counter() + "\"";
+    }
+    
+    public long productLastModified(Product product) {
+        return Math.max(updatedAtMillis(product), catalog.get().modifiedAt());
+    }
+    
+    public String featuredEtag(int limit) {
+        return "\"f" + limit + "-" + epoch + "." + featured.get().counter() + "\"";
+    }
+    
+    public long featuredLastModified() {
+        return featured.get().modifiedAt();
+    }
+    
+    public String categoriesEtag() {
+        return "\"c-" + epoch + "." + catalog.get().counter() + "\"";
+    }
+    
+    public long categoriesLastModified() {
+        return catalog.get().modifiedAt();
+    }
+    
+    private static long updatedAtMillis(Product product) {
+        if (product.getUpdatedAt() == null) {
+            return 0L;
+        }
+        return product.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,138 @@
+package com.shopease.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Small in-process cache with LRU size bound and time-to-live expiry.
+ * Loaders run outside the lock so a slow query never blocks other readers;
+ * null values are never cached.
+ *
+ * Every invalidation bumps a generation counter, and a loaded value is only
+ * stored if no invalidation happened while it was loading; otherwise the
+ * load may have read data the invalidation was meant to drop. The counter is
+ * cache-wide because invalidateIf matches on values, which a load still in
+ * flight does not have yet.
+ */
+public class LruTtlCache<K, V> {
+    
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    public LruTtlCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    // Get cached value or load and cache it
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            putIfUnchanged(key, loaded, loadGeneration);
+        }
+        return loaded;
+    }
+    
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+    
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+    
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+    
+    // Invalidate every entry matching the predicate
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        generation++;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> e = it.next();
+            if (predicate.test(e.getKey(), e.getValue().value)) {
+                it.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+    
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+    
+    // Store a loaded value unless an invalidation ran since the load began
+    private synchronized void putIfUnchanged(K key, V value, long loadGeneration) {
+        if (generation == loadGeneration) {
+            put(key, value);
+        }
+    }
+    
+    public synchronized CacheStats stats() {
+        return new CacheStats(name, entries.size(), maxSize,
+                hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+    
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
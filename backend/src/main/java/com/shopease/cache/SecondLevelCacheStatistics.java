@@ -0,0 +1,47 @@
+package com.shopease.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads Hibernate's per-region cache statistics for the metrics endpoint.
+ * They are only collected with hibernate.generate_statistics on (the dev and
+ * test profiles); otherwise there is nothing to report.
+ */
+@Component
+public class SecondLevelCacheStatistics {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    public List<CacheRegionStats> regions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        
+        List<CacheRegionStats> regions = new ArrayList<>(names.length);
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(new CacheRegionStats(name, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), Math.max(0, region.getElementCountInMemory())));
+            }
+        }
+        
+        // Query cache totals across all query regions
+        regions.add(new CacheRegionStats("query-cache", statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), 0));
+        return regions;
+    }
+}
@@ -0,0 +1,63 @@
+package com.shopease.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of hot catalog responses, with a gzip copy, keyed by
+ * the response's ETag. The ETag embeds the catalog version, so after a change
+ * requests stop hitting the old entry and the LRU ages it out.
+ */
+@Component
+public class SerializedResponseCache {
+    
+    // The same body as JSON bytes and gzip-compressed
+    public record Body(byte[] json, byte[] gzip) {
+    }
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${catalog.serialized-cache.max-entries:64}")
+    private int maxEntries;
+    
+    @Value("${catalog.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private LruTtlCache<String, Body> cache;
+    
+    @PostConstruct
+    void initCache() {
+        cache = new LruTtlCache<>("serialized-responses", maxEntries, ttlSeconds * 1000);
+    }
+    
+    // Serialize and compress once per key; value is only called on a miss
+    public Body get(String key, Supplier<?> value) {
+        return cache.get(key, k -> serialize(value.get()));
+    }
+    
+    public CacheStats stats() {
+        return cache.stats();
+    }
+    
+    private Body serialize(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Body(json, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize response", e);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.shopease.cart;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of cart mutations not yet flushed to cart_items.
+ * Records are length-prefixed and CRC-checked, so a write torn by a crash
+ * ends replay cleanly. The log is split into segments; a segment is deleted
+ * once a flush has persisted everything it contains, and the active one is
+ * rotated out at that point so it can be deleted as well.
+ */
+@Component
+public class CartJournal {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CartJournal.class);
+    
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    
+    public enum Op { PUT, REMOVE, CLEAR }
+    
+    // PUT carries the full line; REMOVE only lineId; CLEAR only userId
+    public record Entry(long sequence, Op op, long userId, long lineId, CartLine line) {
+    }
+    
+    @Value("${cart.journal.dir:data/cart-journal}")
+    private String directory;
+    
+    @Value("${cart.journal.segment-bytes:8388608}")
+    private long segmentBytes;
+    
+    @Value("${cart.journal.fsync:false}")
+    private boolean fsync;
+    
+    private Path root;
+    private FileChannel active;
+    private Path activePath;
+    private long lastSequence;
+    
+    // Closed segments in write order, with the last sequence each contains
+    private final Map<Path, Long> closedSegments = new LinkedHashMap<>();
+    
+    // Records found on startup, handed to the store once and then dropped
+    private List<Entry> recovered = new ArrayList<>();
+    
+    @PostConstruct
+    void open() throws IOException {
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+        
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(root)) {
+            segments = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path segment : segments) {
+            long segmentLast = readSegment(segment, recovered::add);
+            closedSegments.put(segment, segmentLast);
+            lastSequence = Math.max(lastSequence, segmentLast);
+        }
+        if (!recovered.isEmpty()) {
+            logger.info("Recovered {} cart journal records from {} segments", recovered.size(), segments.size());
+        }
+        
+        // Never append to a recovered segment: its tail may be torn
+        openSegment();
+    }
+    
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+    }
+    
+    // Apply every record left over from the previous run, in order
+    public synchronized void replay(Consumer<Entry> consumer) {
+        recovered.forEach(consumer);
+        recovered = new ArrayList<>();
+    }
+    
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+    
+    public long appendPut(CartLine line) {
+        return append(Op.PUT, line.getUserId(), line.getId(), line);
+    }
+    
+    public long appendRemove(long userId, long lineId) {
+        return append(Op.REMOVE, userId, lineId, null);
+    }
+    
+    public long appendClear(long userId) {
+        return append(Op.CLEAR, userId, 0L, null);
+    }
+    
+    // Everything up to sequence is in the database; drop segments that hold nothing newer
+    public synchronized void checkpoint(long sequence) {
+        // Close the active segment too once it is fully persisted, or its records replay after a restart
+        try {
+            if (sequence >= lastSequence && active.size() > 0) {
+                rotate();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not rotate cart journal segment {}", activePath, e);
+        }
+        Iterator<Map.Entry<Path, Long>> segments = closedSegments.entrySet().iterator();
+        while (segments.hasNext()) {
+            Map.Entry<Path, Long> segment = segments.next();
+            if (segment.getValue() > sequence) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segment.getKey());
+                segments.remove();
+            } catch (IOException e) {
+                logger.warn("Could not delete cart journal segment {}", segment.getKey(), e);
+                break;
+            }
+        }
+    }
+    
+    private synchronized long append(Op op, long userId, long lineId, CartLine line) {
+        long sequence = lastSequence + 1;
+        byte[] frame = encode(new Entry(sequence, op, userId, lineId, line));
+        try {
+            if (active.size() > 0 && active.size() + frame.length > segmentBytes) {
+                rotate();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(frame);
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            if (fsync) {
+                active.force(false);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write cart journal", e);
+        }
+        lastSequence = sequence;
+        return sequence;
+    }
+    
+    private void rotate() throws IOException {
+        active.close();
+        closedSegments.put(activePath, lastSequence);
+        openSegment();
+    }
+    
+    private void openSegment() throws IOException {
+        activePath = root.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, lastSequence + 1, SEGMENT_SUFFIX));
+        active = FileChannel.open(activePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+    
+    private static byte[] encode(Entry entry) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(96);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeLong(entry.sequence());
+            payload.writeByte(entry.op().ordinal());
+            payload.writeLong(entry.userId());
+            payload.writeLong(entry.lineId());
+            if (entry.op() == Op.PUT) {
+                CartLine line = entry.line();
+                payload.writeLong(line.getProductId());
+                payload.writeInt(line.getQuantity());
+                writeNullable(payload, line.getSelectedSize());
+                writeNullable(payload, line.getSelectedColor());
+                writeTime(payload, line.getCreatedAt());
+                writeTime(payload, line.getUpdatedAt());
+            }
+            byte[] body = payloadBytes.toByteArray();
+            
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            ByteArrayOutputStream frameBytes = new ByteArrayOutputStream(body.length + 12);
+            DataOutputStream frame = new DataOutputStream(frameBytes);
+            frame.writeInt(body.length);
+            frame.write(body);
+            frame.writeLong(crc.getValue());
+            return frameBytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not encode cart journal record", e);
+        }
+    }
+    
+    // Reads records until end of file or the first torn/corrupt one; returns the last sequence read
+    private static long readSegment(Path segment, Consumer<Entry> consumer) throws IOException {
+        long last = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(segment))) {
+            DataInputStream frames = new DataInputStream(in);
+            while (true) {
+                byte[] body;
+                long expectedCrc;
+                try {
+                    int length = frames.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        logger.warn("Corrupt record length in {}, stopping replay of this segment", segment);
+                        break;
+                    }
+                    body = new byte[length];
+                    frames.readFully(body);
+                    expectedCrc = frames.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if (crc.getValue() != expectedCrc) {
+                    logger.warn("Checksum mismatch in {}, stopping replay of this segment", segment);
+                    break;
+                }
+                Entry entry = decode(body);
+                consumer.accept(entry);
+                last = entry.sequence();
+            }
+        }
+        return last;
+    }
+    
+    private static Entry decode(byte[] body) throws IOException {
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(body));
+        long sequence = payload.readLong();
+        Op op = Op.values()[payload.readByte()];
+        long userId = payload.readLong();
+        long lineId = payload.readLong();
+        CartLine line = null;
+        if (op == Op.PUT) {
+            line = new CartLine(lineId, userId, payload.readLong(), payload.readInt(),
+                    readNullable(payload), readNullable(payload), readTime(payload), readTime(payload));
+        }
+        return new Entry(sequence, op, userId, lineId, line);
+    }
+    
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+    
+    // A missing time is written as a sentinel second so the record layout stays fixed
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time != null ? time.toEpochSecond(ZoneOffset.UTC) : NO_TIME);
+        out.writeInt(time != null ? time.getNano() : 0);
+    }
+    
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return seconds != NO_TIME ? LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.shopease.cart;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One line of an in-memory cart. Instances held by CartStore are only
+ * touched under the owning cart's lock; callers always receive copies.
+ */
+public class CartLine {
+    
+    // Snowflake ids exceed 2^53, so JSON carries them as strings
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+    private Long userId;
+    private Long productId;
+    private Integer quantity;
+    private String selectedSize;
+    private String selectedColor;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public CartLine() {}
+    
+    public CartLine(Long id, Long userId, Long productId, Integer quantity, String selectedSize,
+                    String selectedColor, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.selectedSize = selectedSize;
+        this.selectedColor = selectedColor;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public CartLine copy() {
+        return new CartLine(id, userId, productId, quantity, selectedSize, selectedColor, createdAt, updatedAt);
+    }
+    
+    // Same product with the same options, so quantities merge into one line
+    public boolean sameItem(Long productId, String selectedSize, String selectedColor) {
+        return this.productId.equals(productId)
+                && Objects.equals(this.selectedSize, selectedSize)
+                && Objects.equals(this.selectedColor, selectedColor);
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    
+    public String getSelectedSize() { return selectedSize; }
+    public void setSelectedSize(String selectedSize) { this.selectedSize = selectedSize; }
+    
+    public String getSelectedColor() { return selectedColor; }
+    public void setSelectedColor(String selectedColor) { this.selectedColor = selectedColor; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
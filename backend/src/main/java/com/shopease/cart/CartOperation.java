@@ -0,0 +1,20 @@
+package com.shopease.cart;
+
+// A validated cart change, applied by CartStore.applyAll
+public record CartOperation(Type type, Long lineId, Long productId, int quantity,
+                            String selectedSize, String selectedColor) {
+    
+    public enum Type { ADD, UPDATE, REMOVE }
+    
+    public static CartOperation add(Long productId, int quantity, String selectedSize, String selectedColor) {
+        return new CartOperation(Type.ADD, null, productId, quantity, selectedSize, selectedColor);
+    }
+    
+    public static CartOperation update(Long lineId, int quantity) {
+        return new CartOperation(Type.UPDATE, lineId, null, quantity, null, null);
+    }
+    
+    public static CartOperation remove(Long lineId) {
+        return new CartOperation(Type.REMOVE, lineId, null, 0, null, null);
+    }
+}
@@ -0,0 +1,479 @@
+package com.shopease.cart;
+
+import com.shopease.repository.CartRepository;
+import com.shopease.repository.UserRepository;
+import com.shopease.service.OrderNumberGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Write-behind store for active carts. Carts are loaded from cart_items on
+ * first touch and then served from memory; every mutation is journaled
+ * before it is applied and the cart is marked dirty. A scheduled flush
+ * rewrites dirty carts in one batch, after which the journal is trimmed.
+ *
+ * Carts are guarded by striped locks keyed on userId. Clean carts are
+ * evicted when idle or when the store grows past its bound. State is local
+ * to this node, so multiple nodes need user-sticky routing.
+ */
+@Component
+public class CartStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CartStore.class);
+    
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CartJournal journal;
+    
+    @Autowired
+    private OrderNumberGenerator idGenerator;
+    
+    @Value("${cart.store.lock-stripes:64}")
+    private int lockStripes;
+    
+    @Value("${cart.store.max-carts:10000}")
+    private int maxCarts;
+    
+    @Value("${cart.store.idle-minutes:30}")
+    private long idleMinutes;
+    
+    private ReentrantLock[] locks;
+    
+    private final Map<Long, UserCart> carts = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lineOwners = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    void start() {
+        // Round up to a power of two so the stripe is a mask of the hash
+        int stripes = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        
+        // Re-apply anything the previous run journaled but never flushed
+        journal.replay(this::recover);
+        flush();
+    }
+    
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+    
+    public List<CartLine> getLines(Long userId) {
+        return withCart(userId, false, UserCart::copyLines);
+    }
+    
+    public int countLines(Long userId) {
+        return withCart(userId, false, cart -> cart.lines.size());
+    }
+    
+    // Owner of a cart line, or null if the line does not exist
+    public Long findOwner(Long lineId) {
+        Long owner = lineOwners.get(lineId);
+        return owner != null ? owner : cartRepository.findUserIdById(lineId).orElse(null);
+    }
+    
+    // Add to the cart, merging with a line for the same product and options
+    public CartLine addLine(Long userId, Long productId, int quantity, String selectedSize, String selectedColor) {
+        return withCart(userId, true, cart -> {
+            LocalDateTime now = LocalDateTime.now();
+            CartLine existing = cart.find(productId, selectedSize, selectedColor);
+            CartLine line;
+            if (existing != null) {
+                line = existing.copy();
+                line.setQuantity(existing.getQuantity() + quantity);
+            } else {
+                line = new CartLine(idGenerator.nextId(), userId, productId, quantity,
+                        selectedSize, selectedColor, now, null);
+            }
+            line.setUpdatedAt(now);
+            return put(cart, line);
+        });
+    }
+    
+    // Set a line's quantity; zero or less removes it and returns null
+    public CartLine updateQuantity(Long userId, Long lineId, int quantity) {
+        return withCart(userId, true, cart -> {
+            CartLine existing = cart.lines.get(lineId);
+            if (existing == null) {
+                throw new RuntimeException("Cart item not found");
+            }
+            if (quantity <= 0) {
+                remove(cart, lineId);
+                return null;
+            }
+            CartLine line = existing.copy();
+            line.setQuantity(quantity);
+            line.setUpdatedAt(LocalDateTime.now());
+            return put(cart, line);
+        });
+    }
+    
+    public void removeLine(Long userId, Long lineId) {
+        withCart(userId, true, cart -> {
+            if (!cart.lines.containsKey(lineId)) {
+                throw new RuntimeException("Cart item not found");
+            }
+            remove(cart, lineId);
+            return null;
+        });
+    }
+    
+    /**
+     * Apply a batch of operations atomically: they run against a working copy
+     * of the cart, and only if every one succeeds are the net changes
+     * journaled and applied. Returns the resulting cart.
+     */
+    public List<CartLine> applyAll(Long userId, List<CartOperation> operations) {
+        return withCart(userId, true, cart -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, CartLine> working = new LinkedHashMap<>(cart.lines);
+            for (CartOperation operation : operations) {
+                switch (operation.type()) {
+                    case ADD -> {
+                        CartLine line = null;
+                        for (CartLine candidate : working.values()) {
+                            if (candidate.sameItem(operation.productId(), operation.selectedSize(),
+                                    operation.selectedColor())) {
+                                line = candidate.copy();
+                                line.setQuantity(candidate.getQuantity() + operation.quantity());
+                                break;
+                            }
+                        }
+                        if (line == null) {
+                            line = new CartLine(idGenerator.nextId(), userId, operation.productId(),
+                                    operation.quantity(), operation.selectedSize(), operation.selectedColor(), now, null);
+                        }
+                        line.setUpdatedAt(now);
+                        working.put(line.getId(), line);
+                    }
+                    case UPDATE -> {
+                        CartLine existing = working.get(operation.lineId());
+                        if (existing == null) {
+                            throw new RuntimeException("Cart item not found: " + operation.lineId());
+                        }
+                        if (operation.quantity() <= 0) {
+                            working.remove(operation.lineId());
+                        } else {
+                            CartLine line = existing.copy();
+                            line.setQuantity(operation.quantity());
+                            line.setUpdatedAt(now);
+                            working.put(line.getId(), line);
+                        }
+                    }
+                    case REMOVE -> {
+                        if (working.remove(operation.lineId()) == null) {
+                            throw new RuntimeException("Cart item not found: " + operation.lineId());
+                        }
+                    }
+                }
+            }
+            
+            // Untouched lines are the same instances, so anything else changed
+            for (Long lineId : List.copyOf(cart.lines.keySet())) {
+                if (!working.containsKey(lineId)) {
+                    remove(cart, lineId);
+                }
+            }
+            for (CartLine line : working.values()) {
+                if (cart.lines.get(line.getId()) != line) {
+                    put(cart, line);
+                }
+            }
+            return cart.copyLines();
+        });
+    }
+    
+    public void clear(Long userId) {
+        withCart(userId, false, cart -> {
+            if (!cart.lines.isEmpty()) {
+                dirty.add(userId);
+                journal.appendClear(userId);
+                cart.lines.keySet().forEach(lineOwners::remove);
+                cart.lines.clear();
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Take checked-out lines out of the cart, leaving anything added since
+     * the order's snapshot. A line whose quantity grew in the meantime keeps
+     * the difference.
+     */
+    public void removeOrdered(Long userId, Collection<CartLine> ordered) {
+        withCart(userId, false, cart -> {
+            for (CartLine orderedLine : ordered) {
+                CartLine current = cart.lines.get(orderedLine.getId());
+                if (current == null) {
+                    continue;
+                }
+                int remaining = current.getQuantity() - orderedLine.getQuantity();
+                if (remaining <= 0) {
+                    remove(cart, current.getId());
+                } else {
+                    CartLine line = current.copy();
+                    line.setQuantity(remaining);
+                    line.setUpdatedAt(LocalDateTime.now());
+                    put(cart, line);
+                }
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Write every dirty cart to cart_items in one batch. A cart is marked
+     * dirty before its journal record is written, so all records up to the
+     * sequence read here belong to carts drained below and can be trimmed
+     * once the batch commits.
+     */
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        long flushedUpTo = journal.lastSequence();
+        
+        Map<Long, List<CartLine>> snapshot = new HashMap<>();
+        for (Long userId : List.copyOf(dirty)) {
+            ReentrantLock lock = lockFor(userId);
+            lock.lock();
+            try {
+                dirty.remove(userId);
+                UserCart cart = carts.get(userId);
+                snapshot.put(userId, cart == null ? List.of() : cart.copyLines());
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        try {
+            cartRepository.replaceCarts(snapshot);
+            journal.checkpoint(flushedUpTo);
+        } catch (RuntimeException e) {
+            // Journal still holds these changes; retry on the next run
+            dirty.addAll(snapshot.keySet());
+            logger.warn("Cart flush failed for {} carts, will retry", snapshot.size(), e);
+        }
+    }
+    
+    // Drop clean carts that have been idle, then the least recently used ones if over the bound.
+    // Synchronized with flush so a cart being written back is never mistaken for clean.
+    @Scheduled(fixedDelayString = "${cart.store.eviction-interval-ms:60000}")
+    public synchronized void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(idleMinutes);
+        for (UserCart cart : List.copyOf(carts.values())) {
+            if (cart.lastAccess < idleBefore) {
+                evict(cart);
+            }
+        }
+        
+        int excess = carts.size() - maxCarts;
+        if (excess > 0) {
+            List<UserCart> oldestFirst = new ArrayList<>(carts.values());
+            oldestFirst.sort(Comparator.comparingLong(cart -> cart.lastAccess));
+            for (UserCart cart : oldestFirst) {
+                if (excess <= 0) {
+                    break;
+                }
+                if (evict(cart)) {
+                    excess--;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Drop the given carts from memory ahead of deleting their rows, so a
+     * later flush cannot write them back. Each dropped cart is journaled as
+     * cleared so a replay after restart cannot revive it either. Carts with
+     * unflushed changes are in use and are kept; the returned ids are safe
+     * to delete.
+     */
+    public synchronized List<Long> discard(Collection<Long> userIds) {
+        List<Long> discarded = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            ReentrantLock lock = lockFor(userId);
+            lock.lock();
+            try {
+                if (dirty.contains(userId)) {
+                    continue;
+                }
+                UserCart cart = carts.remove(userId);
+                if (cart != null) {
+                    cart.lines.keySet().forEach(lineOwners::remove);
+                }
+                journal.appendClear(userId);
+                discarded.add(userId);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return discarded;
+    }
+    
+    public int size() {
+        return carts.size();
+    }
+    
+    private <T> T withCart(Long userId, boolean requireUser, Function<UserCart, T> action) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            UserCart cart = carts.get(userId);
+            if (cart == null) {
+                cart = load(userId);
+            }
+            if (requireUser && !cart.userVerified) {
+                if (!userRepository.existsById(userId)) {
+                    throw new RuntimeException("User not found");
+                }
+                cart.userVerified = true;
+            }
+            cart.lastAccess = System.currentTimeMillis();
+            return action.apply(cart);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // Caller holds the stripe lock
+    private UserCart load(Long userId) {
+        UserCart cart = new UserCart(userId);
+        for (CartLine line : cartRepository.findLinesByUserId(userId)) {
+            // Rows from before cart lines were timestamped count as touched now
+            if (line.getCreatedAt() == null) {
+                line.setCreatedAt(LocalDateTime.now());
+            }
+            if (line.getUpdatedAt() == null) {
+                line.setUpdatedAt(line.getCreatedAt());
+            }
+            cart.lines.put(line.getId(), line);
+            lineOwners.put(line.getId(), userId);
+        }
+        // Existing rows imply the user exists
+        cart.userVerified = !cart.lines.isEmpty();
+        carts.put(userId, cart);
+        return cart;
+    }
+    
+    private CartLine put(UserCart cart, CartLine line) {
+        dirty.add(cart.userId);
+        journal.appendPut(line);
+        cart.lines.put(line.getId(), line);
+        lineOwners.put(line.getId(), cart.userId);
+        return line.copy();
+    }
+    
+    private void remove(UserCart cart, Long lineId) {
+        dirty.add(cart.userId);
+        journal.appendRemove(cart.userId, lineId);
+        cart.lines.remove(lineId);
+        lineOwners.remove(lineId);
+    }
+    
+    private void recover(CartJournal.Entry entry) {
+        ReentrantLock lock = lockFor(entry.userId());
+        lock.lock();
+        try {
+            UserCart cart = carts.get(entry.userId());
+            if (cart == null) {
+                cart = load(entry.userId());
+            }
+            switch (entry.op()) {
+                case PUT -> {
+                    cart.lines.put(entry.lineId(), entry.line());
+                    lineOwners.put(entry.lineId(), entry.userId());
+                }
+                case REMOVE -> {
+                    cart.lines.remove(entry.lineId());
+                    lineOwners.remove(entry.lineId());
+                }
+                case CLEAR -> {
+                    cart.lines.keySet().forEach(lineOwners::remove);
+                    cart.lines.clear();
+                }
+            }
+            dirty.add(entry.userId());
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private boolean evict(UserCart cart) {
+        ReentrantLock lock = lockFor(cart.userId);
+        lock.lock();
+        try {
+            if (dirty.contains(cart.userId) || !carts.remove(cart.userId, cart)) {
+                return false;
+            }
+            cart.lines.keySet().forEach(lineOwners::remove);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private ReentrantLock lockFor(Long userId) {
+        int hash = userId.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+    
+    private static final class UserCart {
+        
+        private final Long userId;
+        private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+        private volatile long lastAccess = System.currentTimeMillis();
+        private boolean userVerified;
+        
+        UserCart(Long userId) {
+            this.userId = userId;
+        }
+        
+        CartLine find(Long productId, String selectedSize, String selectedColor) {
+            for (CartLine line : lines.values()) {
+                if (line.sameItem(productId, selectedSize, selectedColor)) {
+                    return line;
+                }
+            }
+            return null;
+        }
+        
+        List<CartLine> copyLines() {
+            List<CartLine> copies = new ArrayList<>(lines.size());
+            for (CartLine line : lines.values()) {
+                copies.add(line.copy());
+            }
+            return copies;
+        }
+    }
+}
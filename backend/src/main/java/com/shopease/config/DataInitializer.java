@@ -12,7 +12,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -26,6 +28,8 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    private final List<Product> pendingProducts = new ArrayList<>();
+    
     @Override
     public void run(String... args) throws Exception {
         initializeUsers();
@@ -42,7 +46,6 @@ public class DataInitializer implements CommandLineRunner {
             admin.setPassword(passwordEncoder.encode("admin123"));
             admin.setRole(User.Role.ADMIN);
             admin.setIsActive(true);
-            userRepository.save(admin);
             
             // Create demo customer
             User customer = new User();
@@ -53,7 +56,8 @@ public class DataInitializer implements CommandLineRunner {
             customer.setPhoneNumber("+1234567890");
             customer.setRole(User.Role.CUSTOMER);
             customer.setIsActive(true);
-            userRepository.save(customer);
+            
+            userRepository.saveAll(Arrays.asList(admin, customer));
             
             System.out.println("Demo users created successfully!");
         }
@@ -148,19 +152,23 @@ public class DataInitializer implements CommandLineRunner {
                 )
             );
             
+            // One transaction; inserts are batched when ids come from pooled sequences
+            productRepository.saveAll(pendingProducts);
+            pendingProducts.clear();
+            
             System.out.println("Sample products created successfully!");
         }
     }
     
     private void createProduct(String name, String description, BigDecimal price, BigDecimal originalPrice,
                              Integer stock, String category, String brand, String imageUrl,
-                             java.util.List<ProductSpecification> specs) {
+                             List<ProductSpecification> specs) {
         createProduct(name, description, price, originalPrice, stock, category, brand, imageUrl, specs, null);
     }
     
     private void createProduct(String name, String description, BigDecimal price, BigDecimal originalPrice,
                              Integer stock, String category, String brand, String imageUrl,
-                             java.util.List<ProductSpecification> specs, java.util.List<String> sizes) {
+                             List<ProductSpecification> specs, List<String> sizes) {
         Product product = new Product();
         product.setName(name);
         product.setDescription(description);
@@ -170,24 +178,45 @@ public class DataInitializer implements CommandLineRunner {
         product.setCategory(category);
         product.setBrand(brand);
         product.setSku(generateSku(name));
-        product.setAverageRating(4.0 + Math.random()); // Random rating between 4.0-5.0
-        product.setReviewCount((int)(Math.random() * 200) + 50); // Random review count
+        seedRatings(product);
         product.setSpecifications(specs);
         if (sizes != null) {
             product.setSizes(sizes);
         }
         
-        Product savedProduct = productRepository.save(product);
-        
-        // Add product image
+        // Add product image; saved with the product by cascade
         ProductImage image = new ProductImage();
         image.setImageUrl(imageUrl);
         image.setAltText(name);
         image.setIsPrimary(true);
-        image.setProduct(savedProduct);
+        product.addImage(image);
         
-        savedProduct.addImage(image);
-        productRepository.save(savedProduct);
+        pendingProducts.add(product);
+    }
+    
+    // Random star histogram skewed towards 4-5 stars; sum, count and average are derived from it
+    private void seedRatings(Product product) {
+        int[] counts = {
+            (int)(Math.random() * 5),
+            (int)(Math.random() * 5),
+            (int)(Math.random() * 15),
+            (int)(Math.random() * 50) + 10,
+            (int)(Math.random() * 120) + 30
+        };
+        int reviewCount = 0;
+        long ratingSum = 0;
+        for (int stars = 1; stars <= 5; stars++) {
+            reviewCount += counts[stars - 1];
+            ratingSum += (long) stars * counts[stars - 1];
+        }
+        product.setRating1Count(counts[0]);
+        product.setRating2Count(counts[1]);
+        product.setRating3Count(counts[2]);
+        product.setRating4Count(counts[3]);
+        product.setRating5Count(counts[4]);
+        product.setReviewCount(reviewCount);
+        product.setRatingSum(ratingSum);
+        product.setAverageRating((double) ratingSum / reviewCount);
     }
     
     private String generateSku(String productName) {
@@ -0,0 +1,60 @@
+package com.shopease.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves every pooled id sequence table past the highest id in its entity
+ * table before anything is inserted. Rows written while the profile was off
+ * take IDENTITY values without advancing these tables, so without this a
+ * later switch back to pooled ids would hand out keys that already exist.
+ * Only MySQL needs it: there the sequences are emulated with tables, while
+ * H2 runs create-drop and starts empty.
+ */
+@Component
+@Profile("pooled-ids")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PooledIdSequenceReseeder implements CommandLineRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PooledIdSequenceReseeder.class);
+    
+    // Sequence table -> entity table, as mapped in orm-pooled-ids.xml
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "user_id_seq", "users",
+            "product_id_seq", "products",
+            "product_image_id_seq", "product_images",
+            "order_id_seq", "orders",
+            "review_id_seq", "reviews",
+            "address_id_seq", "addresses",
+            "wishlist_item_id_seq", "wishlist_items");
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void run(String... args) {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database)) {
+            return;
+        }
+        // GREATEST never moves a sequence back, so concurrent starts are safe
+        SEQUENCES.forEach((sequence, table) -> {
+            int updated = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = GREATEST(next_val, " +
+                    "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "))");
+            if (updated == 0) {
+                logger.warn("Sequence table {} has no row; pooled ids for {} are not reseeded", sequence, table);
+            }
+        });
+    }
+}
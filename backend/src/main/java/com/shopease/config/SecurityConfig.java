@@ -1,13 +1,22 @@
 package com.shopease.config;
 
+import com.shopease.repository.UserRepository;
+import com.shopease.security.JwtAuthenticationFilter;
+import com.shopease.security.JwtUtils;
+import com.shopease.security.TokenRevocationList;
+import com.shopease.security.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -18,24 +27,49 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
     
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Raising the strength upgrades existing hashes on their next successful login
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
     
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        // Matchers are relative to the /api context path
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/api/products/**").permitAll()
-                .requestMatchers("/api/categories/**").permitAll()
-                .requestMatchers("/api/images/**").permitAll()
+                .requestMatchers("/auth/**").permitAll()
+                // Catalog reads are public; catalog writes are admin-only
+                .requestMatchers(HttpMethod.GET, "/products/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/products/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PUT, "/products/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.DELETE, "/products/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/reviews/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/categories/**").permitAll()
+                .requestMatchers("/images/**").permitAll()
+                .requestMatchers("/metrics/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
-            );
+            )
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtils, verifiedTokenCache, tokenRevocationList,
+                    userRepository), UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
@@ -44,7 +78,7 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:*", "http://127.0.0.1:*"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
         
@@ -1,14 +1,22 @@
 package com.shopease.controller;
 
 import com.shopease.dto.LoginRequest;
-import com.shopease.dto.LoginResponse;
 import com.shopease.dto.SignupRequest;
+import com.shopease.security.JwtAuthenticationFilter;
+import com.shopease.security.LoginRateLimiter;
+import com.shopease.security.PasswordHashingRejectedException;
 import com.shopease.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/auth")
 @CrossOrigin(origins = {"http://localhost:8000", "http://127.0.0.1:8000"})
@@ -17,28 +25,46 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+    
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest signupRequest) {
-        try {
-            authService.signup(signupRequest);
-            return ResponseEntity.ok().body("User registered successfully");
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+    public CompletableFuture<ResponseEntity<?>> signup(@Valid @RequestBody SignupRequest signupRequest) {
+        return authService.signup(signupRequest)
+                .<ResponseEntity<?>>thenApply(user -> ResponseEntity.ok().body("User registered successfully"))
+                .exceptionally(this::errorResponse);
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            LoginResponse response = authService.login(loginRequest);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                      HttpServletRequest request) {
+        // Throttle before any user lookup or password hashing
+        long retryAfter = loginRateLimiter.tryAcquire(request.getRemoteAddr(), loginRequest.getEmail());
+        if (retryAfter > 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body("Too many login attempts, please try again later"));
         }
+        
+        return authService.login(loginRequest)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(this::errorResponse);
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        authService.logout(JwtAuthenticationFilter.resolveToken(request));
         return ResponseEntity.ok().body("Logged out successfully");
     }
+    
+    // Saturated hashing pool maps to 503 so clients back off; anything else stays a 400
+    private ResponseEntity<?> errorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof PasswordHashingRejectedException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(cause.getMessage());
+        }
+        return ResponseEntity.badRequest().body(cause.getMessage());
+    }
 }
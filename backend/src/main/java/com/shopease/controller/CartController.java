@@ -1,15 +1,18 @@
 package com.shopease.controller;
 
+import com.shopease.cart.CartLine;
+import com.shopease.dto.CartBatchRequest;
 import com.shopease.dto.CartItemRequest;
-import com.shopease.entity.CartItem;
+import com.shopease.dto.CartResponse;
+import com.shopease.security.AuthenticatedUser;
 import com.shopease.service.CartService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/cart")
 @CrossOrigin(origins = {"http://localhost:8000", "http://127.0.0.1:8000"})
@@ -19,15 +22,15 @@ public class CartController {
     private CartService cartService;
     
     @GetMapping("/{userId}")
-    public ResponseEntity<List<CartItem>> getCartItems(@PathVariable Long userId) {
-        List<CartItem> cartItems = cartService.getCartItems(userId);
-        return ResponseEntity.ok(cartItems);
+    public ResponseEntity<CartResponse> getCart(@PathVariable Long userId,
+                                                @RequestParam(required = false) String couponCode) {
+        return ResponseEntity.ok(cartService.getCart(userId, couponCode));
     }
     
     @PostMapping("/add")
     public ResponseEntity<?> addToCart(@Valid @RequestBody CartItemRequest request) {
         try {
-            CartItem cartItem = cartService.addToCart(request);
+            CartLine cartItem = cartService.addToCart(request);
             return ResponseEntity.ok(cartItem);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -37,7 +40,7 @@ public class CartController {
     @PutMapping("/update/{id}")
     public ResponseEntity<?> updateCartItem(@PathVariable Long id, @RequestParam Integer quantity) {
         try {
-            CartItem cartItem = cartService.updateCartItem(id, quantity);
+            CartLine cartItem = cartService.updateCartItem(id, quantity);
             return ResponseEntity.ok(cartItem);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -54,6 +57,25 @@ public class CartController {
         }
     }
     
+    // Apply several add/update/remove operations in one request; only to the signed-in user's own cart
+    @PatchMapping("/{userId}")
+    public ResponseEntity<?> applyCartOperations(@PathVariable Long userId,
+                                                 @Valid @RequestBody CartBatchRequest request,
+                                                 @RequestParam(required = false) String couponCode,
+                                                 @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to change your cart");
+        }
+        if (!principal.getUserId().equals(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot change another user's cart");
+        }
+        try {
+            return ResponseEntity.ok(cartService.applyCartOperations(userId, request, couponCode));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @DeleteMapping("/clear/{userId}")
     public ResponseEntity<?> clearCart(@PathVariable Long userId) {
         cartService.clearCart(userId);
@@ -0,0 +1,52 @@
+package com.shopease.controller;
+
+import com.shopease.cache.CacheRegionStats;
+import com.shopease.cache.CacheStats;
+import com.shopease.cache.SecondLevelCacheStatistics;
+import com.shopease.cache.SerializedResponseCache;
+import com.shopease.security.PasswordHashingService;
+import com.shopease.security.PasswordHashingStats;
+import com.shopease.service.ProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private SecondLevelCacheStatistics secondLevelCacheStatistics;
+    
+    @Autowired
+    private SerializedResponseCache serializedResponseCache;
+    
+    // Catalog cache hit/miss/eviction counters (Admin only)
+    @GetMapping("/catalog-cache")
+    public ResponseEntity<List<CacheStats>> getCatalogCacheStats() {
+        List<CacheStats> stats = new ArrayList<>(productService.getCacheStats());
+        stats.add(serializedResponseCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+    
+    // Hibernate second-level and query cache hit/miss counters per region; empty unless statistics are on (Admin only)
+    @GetMapping("/hibernate-cache")
+    public ResponseEntity<List<CacheRegionStats>> getHibernateCacheStats() {
+        return ResponseEntity.ok(secondLevelCacheStatistics.regions());
+    }
+    
+    // Password hashing pool latency, queue depth and rejections (Admin only)
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingStats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+}
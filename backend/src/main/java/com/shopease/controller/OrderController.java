@@ -0,0 +1,57 @@
+package com.shopease.controller;
+
+import com.shopease.dto.OrderResponse;
+import com.shopease.dto.PlaceOrderRequest;
+import com.shopease.security.AuthenticatedUser;
+import com.shopease.service.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/orders")
+@CrossOrigin(origins = {"http://localhost:8000", "http://127.0.0.1:8000"})
+public class OrderController {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    // Place an order from the signed-in user's cart
+    @PostMapping
+    public ResponseEntity<?> placeOrder(@Valid @RequestBody PlaceOrderRequest request,
+                                        @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to place an order");
+        }
+        try {
+            OrderResponse order = orderService.placeOrder(principal.getUserId(), request);
+            return ResponseEntity.ok(order);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // The signed-in user's orders, newest first
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyOrders(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to view your orders");
+        }
+        return ResponseEntity.ok(orderService.getOrdersByUser(principal.getUserId()));
+    }
+    
+    // Another user's order number answers 404, the same as one that does not exist
+    @GetMapping("/{orderNumber}")
+    public ResponseEntity<?> getOrder(@PathVariable String orderNumber,
+                                      @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to view your orders");
+        }
+        return orderService.getOrderByNumber(orderNumber, principal.getUserId())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,18 +1,32 @@
 package com.shopease.controller;
 
+import com.shopease.cache.CatalogVersions;
+import com.shopease.cache.SerializedResponseCache;
+import com.shopease.dto.FacetedProductPage;
+import com.shopease.dto.ProductFilter;
+import com.shopease.dto.ProductSummary;
 import com.shopease.entity.Product;
 import com.shopease.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/products")
@@ -22,81 +36,163 @@ public class ProductController {
     @Autowired
     private ProductService productService;
     
-    // Get all products
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private SerializedResponseCache serializedResponses;
+    
+    @Value("${catalog.http-cache.product-max-age-seconds:30}")
+    private long productMaxAgeSeconds;
+    
+    @Value("${catalog.http-cache.featured-max-age-seconds:60}")
+    private long featuredMaxAgeSeconds;
+    
+    @Value("${catalog.http-cache.categories-max-age-seconds:300}")
+    private long categoriesMaxAgeSeconds;
+    
+    // Get all products (offset paging, or keyset paging when a cursor is given)
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts(
+    public ResponseEntity<?> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor) {
+        
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(productService.getAllProducts(cursor, size, sortBy,
+                        sortDir.equalsIgnoreCase("desc")));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Product> products = productService.getAllProducts(pageable);
+        Slice<ProductSummary> products = productService.getAllProducts(pageable);
         
         return ResponseEntity.ok(products.getContent());
     }
     
-    // Get product by ID
+    // Get product by ID (304 when the client's ETag or Last-Modified is still current)
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, WebRequest request) {
         Optional<Product> product = productService.getProductById(id);
-        return product.map(ResponseEntity::ok)
+        return product.map(p -> conditional(request, catalogVersions.productEtag(p),
+                        catalogVersions.productLastModified(p), productMaxAgeSeconds, () -> p))
                      .orElse(ResponseEntity.notFound().build());
     }
     
     // Search products
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(
-            @RequestParam String query,
+    public ResponseEntity<?> searchProducts(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String q,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        
+        // The frontend sends "q"; "query" is kept for existing callers
+        String searchTerm = query != null ? query : q;
+        if (searchTerm == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(productService.searchProducts(searchTerm, cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products = productService.searchProducts(query, pageable);
+        Page<ProductSummary> products = productService.searchProducts(searchTerm, pageable);
         
         return ResponseEntity.ok(products.getContent());
     }
     
     // Get products by category
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(
+    public ResponseEntity<?> getProductsByCategory(
             @PathVariable String category,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        
+        // sortBy/sortDir apply to keyset mode only; offset mode keeps its existing order
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(productService.getProductsByCategory(category, cursor, size, sortBy,
+                        sortDir.equalsIgnoreCase("desc")));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products = productService.getProductsByCategory(category, pageable);
+        Slice<ProductSummary> products = productService.getProductsByCategory(category, pageable);
         
         return ResponseEntity.ok(products.getContent());
     }
     
+    // Filter by any combination of facets; returns matches plus per-facet counts
+    @GetMapping("/filter")
+    public ResponseEntity<FacetedProductPage> filterProducts(
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) List<String> brands,
+            @RequestParam(required = false) List<String> sizes,
+            @RequestParam(required = false) List<String> colors,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        ProductFilter filter = new ProductFilter();
+        filter.setCategories(categories);
+        filter.setBrands(brands);
+        filter.setSizes(sizes);
+        filter.setColors(colors);
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+        filter.setMinRating(minRating);
+        
+        return ResponseEntity.ok(productService.filterProducts(filter, page, size));
+    }
+    
     // Get products by price range
     @GetMapping("/price-range")
-    public ResponseEntity<List<Product>> getProductsByPriceRange(
+    public ResponseEntity<List<ProductSummary>> getProductsByPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice) {
         
-        List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice);
+        List<ProductSummary> products = productService.getProductsByPriceRange(minPrice, maxPrice);
         return ResponseEntity.ok(products);
     }
     
     // Get featured products
     @GetMapping("/featured")
-    public ResponseEntity<List<Product>> getFeaturedProducts(
-            @RequestParam(defaultValue = "8") int limit) {
+    public ResponseEntity<byte[]> getFeaturedProducts(
+            @RequestParam(defaultValue = "8") int limit,
+            WebRequest request) {
         
-        List<Product> products = productService.getFeaturedProducts(limit);
-        return ResponseEntity.ok(products);
+        // Validators are read before the data, so they are never newer than the body
+        return preSerialized(request, catalogVersions.featuredEtag(limit), catalogVersions.featuredLastModified(),
+                featuredMaxAgeSeconds, () -> productService.getFeaturedProducts(limit));
     }
     
     // Get all categories
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getAllCategories() {
-        List<String> categories = productService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getAllCategories(WebRequest request) {
+        return preSerialized(request, catalogVersions.categoriesEtag(), catalogVersions.categoriesLastModified(),
+                categoriesMaxAgeSeconds, productService::getAllCategories);
     }
     
     // Create new product (Admin only)
@@ -135,8 +231,65 @@ public class ProductController {
     // Get product stock
     @GetMapping("/{id}/stock")
     public ResponseEntity<Integer> getProductStock(@PathVariable Long id) {
-        Optional<Product> product = productService.getProductById(id);
-        return product.map(p -> ResponseEntity.ok(p.getStockQuantity()))
+        return productService.getAvailableStock(id)
+                     .map(ResponseEntity::ok)
                      .orElse(ResponseEntity.notFound().build());
     }
+    
+    // 304 with no body when the client's copy is current; otherwise build the body and attach the validators
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, long lastModified,
+                                              long maxAgeSeconds, Supplier<T> body) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified)
+                    .cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).lastModified(lastModified).cacheControl(cacheControl).body(body.get());
+    }
+    
+    // Like conditional, but the body is JSON serialized (and gzipped) once per catalog version and
+    // written as raw bytes. The gzip copy is a separate representation, so it gets its own ETag
+    private ResponseEntity<byte[]> preSerialized(WebRequest request, String etag, long lastModified,
+                                                 long maxAgeSeconds, Supplier<?> body) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String representationEtag = gzip ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+        CacheControl cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        if (request.checkNotModified(representationEtag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(representationEtag).lastModified(lastModified)
+                    .cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        
+        SerializedResponseCache.Body serialized = serializedResponses.get(etag, body);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(representationEtag).lastModified(lastModified)
+                .cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT_ENCODING).contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.gzip());
+        }
+        return response.body(serialized.json());
+    }
+    
+    // gzip (or *) listed in Accept-Encoding without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
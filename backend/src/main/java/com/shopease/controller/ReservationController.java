@@ -0,0 +1,59 @@
+package com.shopease.controller;
+
+import com.shopease.dto.StockReservation;
+import com.shopease.security.AuthenticatedUser;
+import com.shopease.service.StockReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/reservations")
+@CrossOrigin(origins = {"http://localhost:8000", "http://127.0.0.1:8000"})
+public class ReservationController {
+    
+    @Autowired
+    private StockReservationService reservationService;
+    
+    // Hold stock for the signed-in user's cart at checkout
+    @PostMapping("/cart")
+    public ResponseEntity<?> reserveCart(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to check out");
+        }
+        try {
+            StockReservation reservation = reservationService.reserveCart(principal.getUserId());
+            return ResponseEntity.ok(reservation);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Another user's reservation answers 404, the same as one that does not exist
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getReservation(@PathVariable String id,
+                                            @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to check out");
+        }
+        return reservationService.getReservation(id)
+                .filter(reservation -> reservation.getUserId().equals(principal.getUserId()))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Abandon: give the held stock back
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> releaseReservation(@PathVariable String id,
+                                                @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to check out");
+        }
+        if (reservationService.release(id, principal.getUserId())) {
+            return ResponseEntity.ok().body("Reservation released");
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
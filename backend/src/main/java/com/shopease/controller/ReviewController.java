@@ -0,0 +1,48 @@
+package com.shopease.controller;
+
+import com.shopease.dto.ReviewRequest;
+import com.shopease.security.AuthenticatedUser;
+import com.shopease.service.ReviewService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/reviews")
+@CrossOrigin(origins = {"http://localhost:8000", "http://127.0.0.1:8000"})
+public class ReviewController {
+    
+    @Autowired
+    private ReviewService reviewService;
+    
+    // Reviews of a product, newest first (keyset paging: pass the returned nextCursor as cursor)
+    @GetMapping("/product/{productId}")
+    public ResponseEntity<?> getReviews(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean verified) {
+        try {
+            return ResponseEntity.ok(reviewService.getReviews(productId, cursor, size, verified));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Submit or edit the signed-in user's review; the product's rating and review count update immediately
+    @PostMapping("/product/{productId}")
+    public ResponseEntity<?> submitReview(@PathVariable Long productId, @Valid @RequestBody ReviewRequest request,
+                                          @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null || principal.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to review this product");
+        }
+        try {
+            return ResponseEntity.ok(reviewService.submitReview(productId, principal.getUserId(), request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
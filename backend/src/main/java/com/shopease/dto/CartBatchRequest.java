@@ -0,0 +1,57 @@
+package com.shopease.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CartBatchRequest {
+    
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 100, message = "At most 100 operations per request")
+    @Valid
+    private List<Operation> operations = new ArrayList<>();
+    
+    // Getters and Setters
+    public List<Operation> getOperations() { return operations; }
+    public void setOperations(List<Operation> operations) { this.operations = operations; }
+    
+    /**
+     * One cart change. "add" needs productId and quantity; "update" needs
+     * cartItemId and quantity (zero or less removes); "remove" needs cartItemId.
+     * cartItemId is sent as the string the cart returned; a JSON number would lose precision.
+     */
+    public static class Operation {
+        
+        @NotNull(message = "Operation type is required")
+        private String type;
+        
+        private Long cartItemId;
+        private Long productId;
+        private Integer quantity;
+        private String selectedSize;
+        private String selectedColor;
+        
+        // Getters and Setters
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        
+        public Long getCartItemId() { return cartItemId; }
+        public void setCartItemId(Long cartItemId) { this.cartItemId = cartItemId; }
+        
+        public Long getProductId() { return productId; }
+        public void setProductId(Long productId) { this.productId = productId; }
+        
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+        
+        public String getSelectedSize() { return selectedSize; }
+        public void setSelectedSize(String selectedSize) { this.selectedSize = selectedSize; }
+        
+        public String getSelectedColor() { return selectedColor; }
+        public void setSelectedColor(String selectedColor) { this.selectedColor = selectedColor; }
+    }
+}
@@ -0,0 +1,79 @@
+package com.shopease.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.shopease.cart.CartLine;
+
+import java.math.BigDecimal;
+
+// A cart line with the product fields the cart page shows
+public class CartItemView {
+    
+    // Cart line ids exceed 2^53, so JSON carries them as strings
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+    private Long productId;
+    private String productName;
+    private String imageUrl;
+    private BigDecimal price;
+    private BigDecimal originalPrice;
+    private Integer quantity;
+    private String selectedSize;
+    private String selectedColor;
+    private BigDecimal lineTotal;
+    private boolean available;
+    
+    // Constructors
+    public CartItemView() {}
+    
+    // product is null when the line points at a product that no longer exists
+    public CartItemView(CartLine line, ProductSummary product, BigDecimal lineTotal) {
+        this.id = line.getId();
+        this.productId = line.getProductId();
+        this.quantity = line.getQuantity();
+        this.selectedSize = line.getSelectedSize();
+        this.selectedColor = line.getSelectedColor();
+        this.lineTotal = lineTotal;
+        this.available = product != null;
+        if (product != null) {
+            this.productName = product.getName();
+            this.imageUrl = product.getImageUrl();
+            this.price = product.getPrice();
+            this.originalPrice = product.getOriginalPrice();
+        }
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public BigDecimal getOriginalPrice() { return originalPrice; }
+    public void setOriginalPrice(BigDecimal originalPrice) { this.originalPrice = originalPrice; }
+    
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    
+    public String getSelectedSize() { return selectedSize; }
+    public void setSelectedSize(String selectedSize) { this.selectedSize = selectedSize; }
+    
+    public String getSelectedColor() { return selectedColor; }
+    public void setSelectedColor(String selectedColor) { this.selectedColor = selectedColor; }
+    
+    public BigDecimal getLineTotal() { return lineTotal; }
+    public void setLineTotal(BigDecimal lineTotal) { this.lineTotal = lineTotal; }
+    
+    public boolean isAvailable() { return available; }
+    public void setAvailable(boolean available) { this.available = available; }
+}
@@ -0,0 +1,27 @@
+package com.shopease.dto;
+
+import com.shopease.pricing.PriceBreakdown;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CartResponse {
+    
+    private List<CartItemView> items = new ArrayList<>();
+    private PriceBreakdown totals;
+    
+    // Constructors
+    public CartResponse() {}
+    
+    public CartResponse(List<CartItemView> items, PriceBreakdown totals) {
+        this.items = items;
+        this.totals = totals;
+    }
+    
+    // Getters and Setters
+    public List<CartItemView> getItems() { return items; }
+    public void setItems(List<CartItemView> items) { this.items = items; }
+    
+    public PriceBreakdown getTotals() { return totals; }
+    public void setTotals(PriceBreakdown totals) { this.totals = totals; }
+}
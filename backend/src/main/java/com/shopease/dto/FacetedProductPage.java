@@ -0,0 +1,32 @@
+package com.shopease.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class FacetedProductPage {
+    
+    private List<ProductSummary> items;
+    private int totalItems;
+    
+    // facet name -> (facet value -> matching product count)
+    private Map<String, Map<String, Integer>> facets;
+    
+    // Constructors
+    public FacetedProductPage() {}
+    
+    public FacetedProductPage(List<ProductSummary> items, int totalItems, Map<String, Map<String, Integer>> facets) {
+        this.items = items;
+        this.totalItems = totalItems;
+        this.facets = facets;
+    }
+    
+    // Getters and Setters
+    public List<ProductSummary> getItems() { return items; }
+    public void setItems(List<ProductSummary> items) { this.items = items; }
+    
+    public int getTotalItems() { return totalItems; }
+    public void setTotalItems(int totalItems) { this.totalItems = totalItems; }
+    
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Integer>> facets) { this.facets = facets; }
+}
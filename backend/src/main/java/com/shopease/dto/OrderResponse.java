@@ -0,0 +1,125 @@
+package com.shopease.dto;
+
+import com.shopease.entity.Order;
+import com.shopease.entity.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderResponse {
+    
+    private Long id;
+    private String orderNumber;
+    private Order.OrderStatus status;
+    private Order.PaymentStatus paymentStatus;
+    private BigDecimal subtotal;
+    private BigDecimal taxAmount;
+    private BigDecimal shippingAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private List<Item> items = new ArrayList<>();
+    
+    // Constructors
+    public OrderResponse() {}
+    
+    public OrderResponse(Order order, List<OrderItem> orderItems) {
+        this.id = order.getId();
+        this.orderNumber = order.getOrderNumber();
+        this.status = order.getStatus();
+        this.paymentStatus = order.getPaymentStatus();
+        this.subtotal = order.getSubtotal();
+        this.taxAmount = order.getTaxAmount();
+        this.shippingAmount = order.getShippingAmount();
+        this.discountAmount = order.getDiscountAmount();
+        this.totalAmount = order.getTotalAmount();
+        this.createdAt = order.getCreatedAt();
+        for (OrderItem orderItem : orderItems) {
+            items.add(new Item(orderItem));
+        }
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getOrderNumber() { return orderNumber; }
+    public void setOrderNumber(String orderNumber) { this.orderNumber = orderNumber; }
+    
+    public Order.OrderStatus getStatus() { return status; }
+    public void setStatus(Order.OrderStatus status) { this.status = status; }
+    
+    public Order.PaymentStatus getPaymentStatus() { return paymentStatus; }
+    public void setPaymentStatus(Order.PaymentStatus paymentStatus) { this.paymentStatus = paymentStatus; }
+    
+    public BigDecimal getSubtotal() { return subtotal; }
+    public void setSubtotal(BigDecimal subtotal) { this.subtotal = subtotal; }
+    
+    public BigDecimal getTaxAmount() { return taxAmount; }
+    public void setTaxAmount(BigDecimal taxAmount) { this.taxAmount = taxAmount; }
+    
+    public BigDecimal getShippingAmount() { return shippingAmount; }
+    public void setShippingAmount(BigDecimal shippingAmount) { this.shippingAmount = shippingAmount; }
+    
+    public BigDecimal getDiscountAmount() { return discountAmount; }
+    public void setDiscountAmount(BigDecimal discountAmount) { this.discountAmount = discountAmount; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+    
+    public static class Item {
+        
+        private Long productId;
+        private String productName;
+        private String productImage;
+        private Integer quantity;
+        private BigDecimal price;
+        private String selectedSize;
+        private String selectedColor;
+        
+        public Item() {}
+        
+        public Item(OrderItem orderItem) {
+            this.productId = orderItem.getProduct().getId();
+            this.productName = orderItem.getProductName();
+            this.productImage = orderItem.getProductImage();
+            this.quantity = orderItem.getQuantity();
+            this.price = orderItem.getPrice();
+            this.selectedSize = orderItem.getSelectedSize();
+            this.selectedColor = orderItem.getSelectedColor();
+        }
+        
+        public Long getProductId() { return productId; }
+        public void setProductId(Long productId) { this.productId = productId; }
+        
+        public String getProductName() { return productName; }
+        public void setProductName(String productName) { this.productName = productName; }
+        
+        public String getProductImage() { return productImage; }
+        public void setProductImage(String productImage) { this.productImage = productImage; }
+        
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+        
+        public BigDecimal getPrice() { return price; }
+        public void setPrice(BigDecimal price) { this.price = price; }
+        
+        public String getSelectedSize() { return selectedSize; }
+        public void setSelectedSize(String selectedSize) { this.selectedSize = selectedSize; }
+        
+        public String getSelectedColor() { return selectedColor; }
+        public void setSelectedColor(String selectedColor) { this.selectedColor = selectedColor; }
+        
+        public BigDecimal getTotalPrice() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.shopease.dto;
+
+import com.shopease.entity.Order;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class PlaceOrderRequest {
+    
+    @NotNull(message = "Payment method is required")
+    private Order.PaymentMethod paymentMethod;
+    
+    // Optional: stock reservation taken at checkout
+    private String reservationId;
+    
+    @NotBlank(message = "First name is required")
+    private String shippingFirstName;
+    
+    @NotBlank(message = "Last name is required")
+    private String shippingLastName;
+    
+    @NotBlank(message = "Address is required")
+    private String shippingAddress;
+    
+    @NotBlank(message = "City is required")
+    private String shippingCity;
+    
+    private String shippingState;
+    
+    @NotBlank(message = "Zip code is required")
+    private String shippingZipCode;
+    
+    private String shippingPhone;
+    
+    private String notes;
+    
+    private String couponCode;
+    
+    // Constructors
+    public PlaceOrderRequest() {}
+    
+    // Getters and Setters
+    public Order.PaymentMethod getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(Order.PaymentMethod paymentMethod) { this.paymentMethod = paymentMethod; }
+    
+    public String getReservationId() { return reservationId; }
+    public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+    
+    public String getShippingFirstName() { return shippingFirstName; }
+    public void setShippingFirstName(String shippingFirstName) { this.shippingFirstName = shippingFirstName; }
+    
+    public String getShippingLastName() { return shippingLastName; }
+    public void setShippingLastName(String shippingLastName) { this.shippingLastName = shippingLastName; }
+    
+    public String getShippingAddress() { return shippingAddress; }
+    public void setShippingAddress(String shippingAddress) { this.shippingAddress = shippingAddress; }
+    
+    public String getShippingCity() { return shippingCity; }
+    public void setShippingCity(String shippingCity) { this.shippingCity = shippingCity; }
+    
+    public String getShippingState() { return shippingState; }
+    public void setShippingState(String shippingState) { this.shippingState = shippingState; }
+    
+    public String getShippingZipCode() { return shippingZipCode; }
+    public void setShippingZipCode(String shippingZipCode) { this.shippingZipCode = shippingZipCode; }
+    
+    public String getShippingPhone() { return shippingPhone; }
+    public void setShippingPhone(String shippingPhone) { this.shippingPhone = shippingPhone; }
+    
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    
+    public String getCouponCode() { return couponCode; }
+    public void setCouponCode(String couponCode) { this.couponCode = couponCode; }
+}
@@ -0,0 +1,101 @@
+package com.shopease.dto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position in a keyset listing: the sort field, its direction and the
+ * (value, id) of the last row returned. Encoded as opaque URL-safe base64.
+ * A null value is encoded as an empty segment and a present one behind an
+ * '=' marker, so a product named "null" is not mistaken for a missing value.
+ */
+public class ProductCursor {
+    
+    public static final Set<String> SORT_FIELDS = Set.of("name", "price", "averageRating", "reviewCount", "id");
+    
+    // Sort columns that may hold NULL; the others are NOT NULL in the schema
+    public static final Set<String> NULLABLE_SORT_FIELDS = Set.of("averageRating");
+    
+    // Search results are ordered by (score desc, id asc) instead of a column
+    public static final String RELEVANCE = "relevance";
+    
+    private static final String VERSION = "v2";
+    
+    // Cursors issued before null values were marked; their value segment is the bare value
+    private static final String LEGACY_VERSION = "v1";
+    
+    private final String sortField;
+    private final boolean descending;
+    private final Object lastValue;
+    private final Long lastId;
+    
+    public ProductCursor(String sortField, boolean descending, Object lastValue, Long lastId) {
+        this.sortField = sortField;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+    
+    // Cursor positioned after the given row
+    public static ProductCursor after(String sortField, boolean descending, ProductSummary last) {
+        Object value = switch (sortField) {
+            case "name" -> last.getName();
+            case "price" -> last.getPrice();
+            case "averageRating" -> last.getAverageRating();
+            case "reviewCount" -> last.getReviewCount();
+            default -> last.getId();
+        };
+        return new ProductCursor(sortField, descending, value, last.getId());
+    }
+    
+    public String encode() {
+        String raw = VERSION + "|" + sortField + "|" + (descending ? "desc" : "asc") + "|" + lastId + "|"
+                + (lastValue == null ? "" : "=" + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value goes last so it may itself contain the separator
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !(VERSION.equals(parts[0]) || LEGACY_VERSION.equals(parts[0]))
+                    || !(SORT_FIELDS.contains(parts[1]) || RELEVANCE.equals(parts[1]))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String field = parts[1];
+            Object value;
+            if (LEGACY_VERSION.equals(parts[0])) {
+                value = parseValue(field, parts[4]);
+            } else if (parts[4].isEmpty() && NULLABLE_SORT_FIELDS.contains(field)) {
+                value = null;
+            } else if (parts[4].startsWith("=")) {
+                value = parseValue(field, parts[4].substring(1));
+            } else {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductCursor(field, "desc".equals(parts[2]), value, Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    private static Object parseValue(String field, String value) {
+        return switch (field) {
+            case "name" -> value;
+            case "price" -> new BigDecimal(value);
+            case "averageRating" -> Double.valueOf(value);
+            case "reviewCount" -> Integer.valueOf(value);
+            case RELEVANCE -> Float.valueOf(value);
+            default -> Long.valueOf(value);
+        };
+    }
+    
+    // Getters
+    public String getSortField() { return sortField; }
+    public boolean isDescending() { return descending; }
+    public Object getLastValue() { return lastValue; }
+    public Long getLastId() { return lastId; }
+}
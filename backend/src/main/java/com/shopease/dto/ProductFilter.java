@@ -0,0 +1,45 @@
+package com.shopease.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Combined catalog filter. Values within one facet are OR-ed,
+ * different facets are AND-ed; empty lists and nulls mean "any".
+ */
+public class ProductFilter {
+    
+    private List<String> categories = new ArrayList<>();
+    private List<String> brands = new ArrayList<>();
+    private List<String> sizes = new ArrayList<>();
+    private List<String> colors = new ArrayList<>();
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minRating;
+    
+    // Constructors
+    public ProductFilter() {}
+    
+    // Getters and Setters
+    public List<String> getCategories() { return categories; }
+    public void setCategories(List<String> categories) { this.categories = categories; }
+    
+    public List<String> getBrands() { return brands; }
+    public void setBrands(List<String> brands) { this.brands = brands; }
+    
+    public List<String> getSizes() { return sizes; }
+    public void setSizes(List<String> sizes) { this.sizes = sizes; }
+    
+    public List<String> getColors() { return colors; }
+    public void setColors(List<String> colors) { this.colors = colors; }
+    
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    
+    public Integer getMinRating() { return minRating; }
+    public void setMinRating(Integer minRating) { this.minRating = minRating; }
+}
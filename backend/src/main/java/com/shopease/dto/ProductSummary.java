@@ -0,0 +1,54 @@
+package com.shopease.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Listing view of a product, selected directly by the repository so list
+ * endpoints never touch the lazy collections of the entity.
+ */
+public class ProductSummary {
+    
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private BigDecimal originalPrice;
+    private String imageUrl;
+    private Double averageRating;
+    private Integer reviewCount;
+    
+    // Constructors
+    public ProductSummary() {}
+    
+    public ProductSummary(Long id, String name, BigDecimal price, BigDecimal originalPrice, String imageUrl,
+                          Double averageRating, Integer reviewCount) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.originalPrice = originalPrice;
+        this.imageUrl = imageUrl;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public BigDecimal getOriginalPrice() { return originalPrice; }
+    public void setOriginalPrice(BigDecimal originalPrice) { this.originalPrice = originalPrice; }
+    
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    
+    public Double getAverageRating() { return averageRating; }
+    public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
+    
+    public Integer getReviewCount() { return reviewCount; }
+    public void setReviewCount(Integer reviewCount) { this.reviewCount = reviewCount; }
+}
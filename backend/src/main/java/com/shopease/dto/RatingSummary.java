@@ -0,0 +1,39 @@
+package com.shopease.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A product's stored rating aggregate: average, count and the number of
+ * reviews per star (5 down to 1). Read from the product row, never counted.
+ */
+public class RatingSummary {
+    
+    private Double averageRating;
+    private Integer reviewCount;
+    private Map<Integer, Integer> histogram;
+    
+    public RatingSummary() {}
+    
+    public RatingSummary(Double averageRating, Integer reviewCount, Integer oneStar, Integer twoStar,
+                         Integer threeStar, Integer fourStar, Integer fiveStar) {
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        this.histogram = new LinkedHashMap<>();
+        histogram.put(5, fiveStar);
+        histogram.put(4, fourStar);
+        histogram.put(3, threeStar);
+        histogram.put(2, twoStar);
+        histogram.put(1, oneStar);
+    }
+    
+    // Getters and Setters
+    public Double getAverageRating() { return averageRating; }
+    public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
+    
+    public Integer getReviewCount() { return reviewCount; }
+    public void setReviewCount(Integer reviewCount) { this.reviewCount = reviewCount; }
+    
+    public Map<Integer, Integer> getHistogram() { return histogram; }
+    public void setHistogram(Map<Integer, Integer> histogram) { this.histogram = histogram; }
+}
@@ -0,0 +1,49 @@
+package com.shopease.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a product's review listing, which is ordered newest first by
+ * (createdAt, id). Encoded as opaque URL-safe base64.
+ */
+public class ReviewCursor {
+    
+    private static final String VERSION = "r1";
+    
+    private final LocalDateTime lastCreatedAt;
+    private final Long lastId;
+    
+    public ReviewCursor(LocalDateTime lastCreatedAt, Long lastId) {
+        this.lastCreatedAt = lastCreatedAt;
+        this.lastId = lastId;
+    }
+    
+    // Cursor positioned after the given review
+    public static ReviewCursor after(ReviewView last) {
+        return new ReviewCursor(last.getCreatedAt(), last.getId());
+    }
+    
+    public String encode() {
+        String raw = VERSION + "|" + lastId + "|" + lastCreatedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static ReviewCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ReviewCursor(LocalDateTime.parse(parts[2]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    // Getters
+    public LocalDateTime getLastCreatedAt() { return lastCreatedAt; }
+    public Long getLastId() { return lastId; }
+}
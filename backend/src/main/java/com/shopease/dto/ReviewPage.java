@@ -0,0 +1,24 @@
+package com.shopease.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a product's reviews. The rating summary is included on
+ * the first page only (no cursor); later pages leave it null.
+ */
+public class ReviewPage extends CursorPage<ReviewView> {
+    
+    private RatingSummary summary;
+    
+    // Constructors
+    public ReviewPage() {}
+    
+    public ReviewPage(List<ReviewView> items, String nextCursor, RatingSummary summary) {
+        super(items, nextCursor);
+        this.summary = summary;
+    }
+    
+    // Getters and Setters
+    public RatingSummary getSummary() { return summary; }
+    public void setSummary(RatingSummary summary) { this.summary = summary; }
+}
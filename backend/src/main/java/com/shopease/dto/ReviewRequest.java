@@ -0,0 +1,32 @@
+package com.shopease.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class ReviewRequest {
+    
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating must be at most 5")
+    private Integer rating;
+    
+    @Size(max = 5000, message = "Comment must be at most 5000 characters")
+    private String comment;
+    
+    // Constructors
+    public ReviewRequest() {}
+    
+    public ReviewRequest(Integer rating, String comment) {
+        this.rating = rating;
+        this.comment = comment;
+    }
+    
+    // Getters and Setters
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+    
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+}
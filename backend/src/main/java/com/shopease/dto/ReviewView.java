@@ -0,0 +1,58 @@
+package com.shopease.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A review as shown on the product page: the reviewer's first name only,
+ * no user or product entity attached.
+ */
+public class ReviewView {
+    
+    private Long id;
+    private Long productId;
+    private Long userId;
+    private String reviewerName;
+    private Integer rating;
+    private String comment;
+    private Boolean verifiedPurchase;
+    private LocalDateTime createdAt;
+    
+    public ReviewView() {}
+    
+    public ReviewView(Long id, Long productId, Long userId, String reviewerName, Integer rating,
+                      String comment, Boolean verifiedPurchase, LocalDateTime createdAt) {
+        this.id = id;
+        this.productId = productId;
+        this.userId = userId;
+        this.reviewerName = reviewerName;
+        this.rating = rating;
+        this.comment = comment;
+        this.verifiedPurchase = verifiedPurchase;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getReviewerName() { return reviewerName; }
+    public void setReviewerName(String reviewerName) { this.reviewerName = reviewerName; }
+    
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+    
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+    
+    public Boolean getVerifiedPurchase() { return verifiedPurchase; }
+    public void setVerifiedPurchase(Boolean verifiedPurchase) { this.verifiedPurchase = verifiedPurchase; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,33 @@
+package com.shopease.dto;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+public class StockReservation {
+    
+    private final String id;
+    private final Long userId;
+    private final Map<Long, Integer> quantities;
+    private final Instant expiresAt;
+    
+    public StockReservation(String id, Long userId, Map<Long, Integer> quantities, Instant expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.quantities = Collections.unmodifiableMap(quantities);
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters
+    public String getId() { return id; }
+    public Long getUserId() { return userId; }
+    
+    // Held quantity per product id
+    public Map<Long, Integer> getQuantities() { return quantities; }
+    
+    public Instant getExpiresAt() { return expiresAt; }
+    
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
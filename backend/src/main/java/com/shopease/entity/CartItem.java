@@ -3,9 +3,18 @@ package com.shopease.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", indexes = {
+        @Index(name = "idx_cart_items_user_item", columnList = "user_id, product_id, selected_size, selected_color"),
+        @Index(name = "idx_cart_items_user_updated", columnList = "user_id, updated_at")
+})
+@EntityListeners(AuditingEntityListener.class)
 public class CartItem {
     
     @Id
@@ -31,6 +40,14 @@ public class CartItem {
     @Column(name = "selected_color")
     private String selectedColor;
     
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
     // Constructors
     public CartItem() {}
     
@@ -58,4 +75,10 @@ public class CartItem {
     
     public String getSelectedColor() { return selectedColor; }
     public void setSelectedColor(String selectedColor) { this.selectedColor = selectedColor; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
@@ -1,10 +1,13 @@
 package com.shopease.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,7 +18,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_active_category", columnList = "is_active, category"),
+        @Index(name = "idx_products_active_rating", columnList = "is_active, average_rating, review_count"),
+        @Index(name = "idx_products_active_price", columnList = "is_active, price")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EntityListeners(AuditingEntityListener.class)
 public class Product {
     
@@ -59,28 +68,62 @@ public class Product {
     @Column(name = "average_rating")
     private Double averageRating = 0.0;
     
-    @Column(name = "review_count")
+    @Column(name = "review_count", nullable = false)
     private Integer reviewCount = 0;
     
+    // Running total of all review ratings; averageRating = ratingSum / reviewCount
+    @JsonIgnore
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+    
+    // Star histogram kept with the aggregate, so review pages never count reviews
+    @JsonIgnore
+    @Column(name = "rating_1_count", nullable = false)
+    private Integer rating1Count = 0;
+    
+    @JsonIgnore
+    @Column(name = "rating_2_count", nullable = false)
+    private Integer rating2Count = 0;
+    
+    @JsonIgnore
+    @Column(name = "rating_3_count", nullable = false)
+    private Integer rating3Count = 0;
+    
+    @JsonIgnore
+    @Column(name = "rating_4_count", nullable = false)
+    private Integer rating4Count = 0;
+    
+    @JsonIgnore
+    @Column(name = "rating_5_count", nullable = false)
+    private Integer rating5Count = 0;
+    
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "product_sizes", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "sort_order")
     @Column(name = "size")
     private List<String> sizes = new ArrayList<>();
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "product_colors", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "sort_order")
     @Column(name = "color")
     private List<String> colors = new ArrayList<>();
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "product_specifications", joinColumns = @JoinColumn(name = "product_id"))
+    @OrderColumn(name = "sort_order")
     @MapKeyColumn(name = "spec_key")
     @Column(name = "spec_value")
     private List<ProductSpecification> specifications = new ArrayList<>();
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<ProductImage> images = new ArrayList<>();
     
+    @JsonIgnore
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews = new ArrayList<>();
     
@@ -140,6 +183,24 @@ public class Product {
     public Integer getReviewCount() { return reviewCount; }
     public void setReviewCount(Integer reviewCount) { this.reviewCount = reviewCount; }
     
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+    
+    public Integer getRating1Count() { return rating1Count; }
+    public void setRating1Count(Integer rating1Count) { this.rating1Count = rating1Count; }
+    
+    public Integer getRating2Count() { return rating2Count; }
+    public void setRating2Count(Integer rating2Count) { this.rating2Count = rating2Count; }
+    
+    public Integer getRating3Count() { return rating3Count; }
+    public void setRating3Count(Integer rating3Count) { this.rating3Count = rating3Count; }
+    
+    public Integer getRating4Count() { return rating4Count; }
+    public void setRating4Count(Integer rating4Count) { this.rating4Count = rating4Count; }
+    
+    public Integer getRating5Count() { return rating5Count; }
+    public void setRating5Count(Integer rating5Count) { this.rating5Count = rating5Count; }
+    
     public List<String> getSizes() { return sizes; }
     public void setSizes(List<String> sizes) { this.sizes = sizes; }
     
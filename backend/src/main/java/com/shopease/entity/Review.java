@@ -11,7 +11,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reviews_user_product", columnNames = {"user_id", "product_id"})
+}, indexes = {
+        @Index(name = "idx_reviews_product_created", columnList = "product_id, created_at, id"),
+        @Index(name = "idx_reviews_product_verified", columnList = "product_id, is_verified_purchase, created_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Review {
     
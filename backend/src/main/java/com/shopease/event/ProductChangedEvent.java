@@ -0,0 +1,32 @@
+package com.shopease.event;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Published by ProductService after a product write so that read-side
+ * structures (caches, indexes) can refresh only what the write touched.
+ */
+public class ProductChangedEvent {
+    
+    private final Long productId;
+    private final ChangeType type;
+    private final Set<String> categories;
+    
+    public ProductChangedEvent(Long productId, ChangeType type, Set<String> categories) {
+        this.productId = productId;
+        this.type = type;
+        this.categories = categories == null ? Collections.emptySet() : categories;
+    }
+    
+    // Getters
+    public Long getProductId() { return productId; }
+    public ChangeType getType() { return type; }
+    
+    // Categories the product belonged to before and after the write
+    public Set<String> getCategories() { return categories; }
+    
+    public enum ChangeType {
+        SAVED, DELETED, STOCK, RATING
+    }
+}
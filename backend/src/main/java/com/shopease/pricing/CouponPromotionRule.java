@@ -0,0 +1,31 @@
+package com.shopease.pricing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// The coupon codes offered on the cart page
+@Component
+public class CouponPromotionRule implements PromotionRule {
+    
+    private static final Map<String, Integer> PERCENT_OFF = Map.of(
+            "SAVE10", 10,
+            "SAVE20", 20
+    );
+    
+    private static final String FREE_SHIPPING = "FREESHIP";
+    
+    @Override
+    public void apply(PricingContext context) {
+        String code = context.getCouponCode();
+        if (code == null) {
+            return;
+        }
+        Integer percent = PERCENT_OFF.get(code);
+        if (percent != null) {
+            context.addDiscount((context.getSubtotalCents() * percent + 50) / 100);
+        } else if (FREE_SHIPPING.equals(code)) {
+            context.addShippingDiscount(context.getShippingCents());
+        }
+    }
+}
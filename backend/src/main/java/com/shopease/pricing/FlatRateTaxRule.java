@@ -0,0 +1,17 @@
+package com.shopease.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Single tax rate on discounted merchandise, rounded half up to the cent
+@Component
+public class FlatRateTaxRule implements TaxRule {
+    
+    @Value("${pricing.tax.rate-basis-points:800}")
+    private long rateBasisPoints;
+    
+    @Override
+    public long taxCents(PricingContext context) {
+        return (context.getDiscountedSubtotalCents() * rateBasisPoints + 5_000) / 10_000;
+    }
+}
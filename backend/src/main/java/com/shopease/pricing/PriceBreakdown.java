@@ -0,0 +1,54 @@
+package com.shopease.pricing;
+
+import java.math.BigDecimal;
+
+public class PriceBreakdown {
+    
+    private int itemCount;
+    private BigDecimal subtotal;
+    private BigDecimal savings;
+    private BigDecimal discount;
+    private BigDecimal shipping;
+    private BigDecimal tax;
+    private BigDecimal total;
+    private String couponCode;
+    
+    // Constructors
+    public PriceBreakdown() {}
+    
+    public PriceBreakdown(PricingContext context) {
+        this.itemCount = context.getItemCount();
+        this.subtotal = PricingContext.fromCents(context.getSubtotalCents());
+        this.savings = PricingContext.fromCents(context.getOriginalSubtotalCents() - context.getSubtotalCents());
+        this.discount = PricingContext.fromCents(context.getDiscountCents() + context.getShippingDiscountCents());
+        this.shipping = PricingContext.fromCents(context.getShippingCents());
+        this.tax = PricingContext.fromCents(context.getTaxCents());
+        this.total = PricingContext.fromCents(context.getTotalCents());
+        this.couponCode = context.getCouponCode();
+    }
+    
+    // Getters and Setters
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+    
+    public BigDecimal getSubtotal() { return subtotal; }
+    public void setSubtotal(BigDecimal subtotal) { this.subtotal = subtotal; }
+    
+    public BigDecimal getSavings() { return savings; }
+    public void setSavings(BigDecimal savings) { this.savings = savings; }
+    
+    public BigDecimal getDiscount() { return discount; }
+    public void setDiscount(BigDecimal discount) { this.discount = discount; }
+    
+    public BigDecimal getShipping() { return shipping; }
+    public void setShipping(BigDecimal shipping) { this.shipping = shipping; }
+    
+    public BigDecimal getTax() { return tax; }
+    public void setTax(BigDecimal tax) { this.tax = tax; }
+    
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+    
+    public String getCouponCode() { return couponCode; }
+    public void setCouponCode(String couponCode) { this.couponCode = couponCode; }
+}
@@ -0,0 +1,87 @@
+package com.shopease.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * Running totals for one cart or order, in cents. Lines are folded in as
+ * primitives, so pricing a cart allocates this object and the final
+ * breakdown, not a BigDecimal per line and per step.
+ */
+public class PricingContext {
+    
+    private final String couponCode;
+    
+    private long subtotalCents;
+    private long originalSubtotalCents;
+    private int itemCount;
+    private long discountCents;
+    private long shippingCents;
+    private long shippingDiscountCents;
+    private long taxCents;
+    
+    public PricingContext(String couponCode) {
+        this.couponCode = couponCode == null || couponCode.isBlank() ? null : couponCode.trim().toUpperCase(Locale.ROOT);
+    }
+    
+    public void addLine(long unitPriceCents, long originalUnitPriceCents, int quantity) {
+        subtotalCents = Math.addExact(subtotalCents, Math.multiplyExact(unitPriceCents, quantity));
+        long original = Math.max(unitPriceCents, originalUnitPriceCents);
+        originalSubtotalCents = Math.addExact(originalSubtotalCents, Math.multiplyExact(original, quantity));
+        itemCount = Math.addExact(itemCount, quantity);
+    }
+    
+    // Discounts never take the merchandise below zero
+    public void addDiscount(long cents) {
+        discountCents = Math.min(subtotalCents, discountCents + Math.max(0, cents));
+    }
+    
+    public void addShippingDiscount(long cents) {
+        shippingDiscountCents = Math.min(shippingCents, shippingDiscountCents + Math.max(0, cents));
+    }
+    
+    // Merchandise value after promotions; the base for tax
+    public long getDiscountedSubtotalCents() {
+        return subtotalCents - discountCents;
+    }
+    
+    public long getTotalCents() {
+        return subtotalCents - discountCents + shippingCents - shippingDiscountCents + taxCents;
+    }
+    
+    // Prices are stored with two decimals, so the unscaled value already is the cents;
+    // any other scale is rescaled (half up) first
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        if (amount.scale() == 2) {
+            return amount.unscaledValue().longValueExact();
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    // Getters and Setters
+    public String getCouponCode() { return couponCode; }
+    
+    public long getSubtotalCents() { return subtotalCents; }
+    
+    public long getOriginalSubtotalCents() { return originalSubtotalCents; }
+    
+    public int getItemCount() { return itemCount; }
+    
+    public long getDiscountCents() { return discountCents; }
+    
+    public long getShippingCents() { return shippingCents; }
+    public void setShippingCents(long shippingCents) { this.shippingCents = shippingCents; }
+    
+    public long getShippingDiscountCents() { return shippingDiscountCents; }
+    
+    public long getTaxCents() { return taxCents; }
+    public void setTaxCents(long taxCents) { this.taxCents = taxCents; }
+}
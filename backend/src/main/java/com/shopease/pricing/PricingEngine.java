@@ -0,0 +1,34 @@
+package com.shopease.pricing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Prices a filled PricingContext: shipping, then promotions, then tax on
+ * the discounted merchandise. All arithmetic is on long cents; the rules
+ * are beans, so a different tax, shipping or promotion policy is a matter
+ * of registering another implementation.
+ */
+@Service
+public class PricingEngine {
+    
+    @Autowired
+    private TaxRule taxRule;
+    
+    @Autowired
+    private ShippingRule shippingRule;
+    
+    @Autowired
+    private List<PromotionRule> promotionRules;
+    
+    public PriceBreakdown price(PricingContext context) {
+        context.setShippingCents(shippingRule.shippingCents(context));
+        for (PromotionRule rule : promotionRules) {
+            rule.apply(context);
+        }
+        context.setTaxCents(taxRule.taxCents(context));
+        return new PriceBreakdown(context);
+    }
+}
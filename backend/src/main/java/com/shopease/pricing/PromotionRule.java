@@ -0,0 +1,10 @@
+package com.shopease.pricing;
+
+/**
+ * A promotion applies itself to the context through addDiscount or
+ * addShippingDiscount. Every PromotionRule bean is applied, in @Order order.
+ */
+public interface PromotionRule {
+    
+    void apply(PricingContext context);
+}
@@ -0,0 +1,7 @@
+package com.shopease.pricing;
+
+public interface ShippingRule {
+    
+    // Shipping charge in cents before any shipping promotion
+    long shippingCents(PricingContext context);
+}
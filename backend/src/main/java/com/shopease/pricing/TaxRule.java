@@ -0,0 +1,7 @@
+package com.shopease.pricing;
+
+public interface TaxRule {
+    
+    // Tax in cents for the priced context (discounts and shipping already applied)
+    long taxCents(PricingContext context);
+}
@@ -0,0 +1,23 @@
+package com.shopease.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Flat shipping charge, free once the merchandise subtotal reaches the threshold
+@Component
+public class ThresholdShippingRule implements ShippingRule {
+    
+    @Value("${pricing.shipping.flat-cents:999}")
+    private long flatCents;
+    
+    @Value("${pricing.shipping.free-threshold-cents:5000}")
+    private long freeThresholdCents;
+    
+    @Override
+    public long shippingCents(PricingContext context) {
+        if (context.getItemCount() == 0 || context.getSubtotalCents() >= freeThresholdCents) {
+            return 0;
+        }
+        return flatCents;
+    }
+}
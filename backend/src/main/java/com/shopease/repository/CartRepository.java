@@ -1,14 +1,19 @@
 package com.shopease.repository;
 
+import com.shopease.cart.CartLine;
 import com.shopease.entity.CartItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CartRepository extends JpaRepository<CartItem, Long> {
+public interface CartRepository extends JpaRepository<CartItem, Long>, CartRepositoryCustom {
     
     List<CartItem> findByUserId(Long userId);
     
@@ -17,7 +22,19 @@ public interface CartRepository extends JpaRepository<CartItem, Long> {
     Optional<CartItem> findByUserIdAndProductIdAndSelectedSizeAndSelectedColor(
             Long userId, Long productId, String selectedSize, String selectedColor);
     
+    // Plain line data for loading a cart into CartStore
+    @Query("SELECT new com.shopease.cart.CartLine(c.id, c.user.id, c.product.id, c.quantity, c.selectedSize, " +
+           "c.selectedColor, c.createdAt, c.updatedAt) FROM CartItem c WHERE c.user.id = :userId ORDER BY c.id")
+    List<CartLine> findLinesByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT c.user.id FROM CartItem c WHERE c.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+    
     Integer countByUserId(Long userId);
     
-    void deleteByUserId(Long userId);
+    // Owners after afterUserId, in id order, whose carts are untouched since the cutoff; page size bounds the chunk
+    @Query("SELECT c.user.id FROM CartItem c WHERE c.user.id > :afterUserId GROUP BY c.user.id " +
+           "HAVING MAX(c.updatedAt) < :cutoff ORDER BY c.user.id")
+    List<Long> findAbandonedCartOwners(@Param("cutoff") LocalDateTime cutoff,
+                                       @Param("afterUserId") Long afterUserId, Pageable pageable);
 }
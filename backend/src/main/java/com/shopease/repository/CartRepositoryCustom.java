@@ -0,0 +1,17 @@
+package com.shopease.repository;
+
+import com.shopease.cart.CartLine;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CartRepositoryCustom {
+    
+    // Replace each user's cart rows with the given lines
+    void replaceCarts(Map<Long, List<CartLine>> carts);
+    
+    // Delete the given users' carts, skipping any with a line touched at or after the cutoff
+    int deleteAbandonedCarts(Collection<Long> userIds, LocalDateTime cutoff);
+}
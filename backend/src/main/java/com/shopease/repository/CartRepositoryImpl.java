@@ -0,0 +1,73 @@
+package com.shopease.repository;
+
+import com.shopease.cart.CartLine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class CartRepositoryImpl implements CartRepositoryCustom {
+    
+    private static final String DELETE_CART_SQL = "DELETE FROM cart_items WHERE user_id = ?";
+    
+    private static final String INSERT_CART_LINE_SQL =
+            "INSERT INTO cart_items (id, user_id, product_id, quantity, selected_size, selected_color, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    @Transactional
+    public void replaceCarts(Map<Long, List<CartLine>> carts) {
+        List<Long> userIds = new ArrayList<>(carts.keySet());
+        List<CartLine> lines = new ArrayList<>();
+        carts.values().forEach(lines::addAll);
+        
+        jdbcTemplate.batchUpdate(DELETE_CART_SQL, userIds, userIds.size(),
+                (ps, userId) -> ps.setLong(1, userId));
+        if (lines.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_CART_LINE_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setLong(1, line.getId());
+            ps.setLong(2, line.getUserId());
+            ps.setLong(3, line.getProductId());
+            ps.setInt(4, line.getQuantity());
+            ps.setString(5, line.getSelectedSize());
+            ps.setString(6, line.getSelectedColor());
+            LocalDateTime createdAt = line.getCreatedAt() != null ? line.getCreatedAt() : LocalDateTime.now();
+            ps.setTimestamp(7, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(8, Timestamp.valueOf(line.getUpdatedAt() != null ? line.getUpdatedAt() : createdAt));
+        });
+    }
+    
+    /**
+     * The cutoff is checked again in the delete itself: a cart touched and
+     * flushed after its owner was picked for purging is kept. MySQL will not
+     * read the table a DELETE targets in a subquery, so the recent owners go
+     * through a derived table (DISTINCT keeps it from being merged back in).
+     */
+    @Override
+    @Transactional
+    public int deleteAbandonedCarts(Collection<Long> userIds, LocalDateTime cutoff) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        String in = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        List<Object> args = new ArrayList<>(userIds.size() * 2 + 1);
+        args.addAll(userIds);
+        args.addAll(userIds);
+        args.add(Timestamp.valueOf(cutoff));
+        return jdbcTemplate.update("DELETE FROM cart_items WHERE user_id IN (" + in + ") " +
+                "AND user_id NOT IN (SELECT user_id FROM (SELECT DISTINCT user_id FROM cart_items " +
+                "WHERE user_id IN (" + in + ") AND updated_at >= ?) recent)", args.toArray());
+    }
+}
@@ -0,0 +1,27 @@
+package com.shopease.repository;
+
+import com.shopease.entity.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+    
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    // Scoped to the owner so one user cannot read another's order by guessing its number
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<Order> findByOrderNumberAndUserId(String orderNumber, Long userId);
+    
+    // Whether the user has a non-cancelled order containing the product
+    @Query("SELECT COUNT(oi) > 0 FROM OrderItem oi WHERE oi.order.user.id = :userId " +
+           "AND oi.product.id = :productId AND oi.order.status <> com.shopease.entity.Order.OrderStatus.CANCELLED")
+    boolean existsPurchase(@Param("userId") Long userId, @Param("productId") Long productId);
+}
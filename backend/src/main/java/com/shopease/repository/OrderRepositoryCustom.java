@@ -0,0 +1,11 @@
+package com.shopease.repository;
+
+import com.shopease.entity.OrderItem;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    
+    // Insert all items of an order in one JDBC batch
+    void insertOrderItems(Long orderId, List<OrderItem> items);
+}
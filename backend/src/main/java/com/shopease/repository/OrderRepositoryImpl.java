@@ -0,0 +1,33 @@
+package com.shopease.repository;
+
+import com.shopease.entity.OrderItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    
+    private static final String INSERT_ORDER_ITEM_SQL =
+            "INSERT INTO order_items (order_id, product_id, quantity, price, product_name, product_image, " +
+            "selected_size, selected_color) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    @Transactional
+    public void insertOrderItems(Long orderId, List<OrderItem> items) {
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, items, items.size(), (ps, item) -> {
+            ps.setLong(1, orderId);
+            ps.setLong(2, item.getProduct().getId());
+            ps.setInt(3, item.getQuantity());
+            ps.setBigDecimal(4, item.getPrice());
+            ps.setString(5, item.getProductName());
+            ps.setString(6, item.getProductImage());
+            ps.setString(7, item.getSelectedSize());
+            ps.setString(8, item.getSelectedColor());
+        });
+    }
+}
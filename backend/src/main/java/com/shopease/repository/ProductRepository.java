@@ -1,19 +1,35 @@
 package com.shopease.repository;
 
+import com.shopease.dto.ProductSummary;
+import com.shopease.dto.RatingSummary;
 import com.shopease.entity.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    
+    // Listing projection: primary image (or any image) via subquery, so each product is one row
+    String SUMMARY_SELECT = "SELECT new com.shopease.dto.ProductSummary(p.id, p.name, p.price, p.originalPrice, " +
+            "COALESCE((SELECT MIN(pi.imageUrl) FROM ProductImage pi WHERE pi.product = p AND pi.isPrimary = true), " +
+            "(SELECT MIN(ai.imageUrl) FROM ProductImage ai WHERE ai.product = p)), " +
+            "p.averageRating, p.reviewCount) FROM Product p ";
     
     // Find active products
     List<Product> findByIsActiveTrue();
@@ -27,20 +43,57 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Find by category with pagination
     Page<Product> findByCategoryAndIsActiveTrue(String category, Pageable pageable);
     
-    // Search products by name or description
-    @Query("SELECT p FROM Product p WHERE p.isActive = true AND " +
-           "(LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(p.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Product> searchProducts(@Param("searchTerm") String searchTerm, Pageable pageable);
-    
     // Find by price range
     List<Product> findByPriceBetweenAndIsActiveTrue(BigDecimal minPrice, BigDecimal maxPrice);
     
     // Find featured products (top rated)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "catalog.featured")
+    })
     @Query("SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.averageRating DESC, p.reviewCount DESC")
     List<Product> findFeaturedProducts(Pageable pageable);
     
+    // Active product summaries with pagination (Slice: no count query)
+    @Query(SUMMARY_SELECT + "WHERE p.isActive = true")
+    Slice<ProductSummary> findSummaries(Pageable pageable);
+    
+    // Product summaries by category with pagination (Slice: no count query)
+    @Query(SUMMARY_SELECT + "WHERE p.isActive = true AND p.category = :category")
+    Slice<ProductSummary> findSummariesByCategory(@Param("category") String category, Pageable pageable);
+    
+    // Product summaries by price range
+    @Query(SUMMARY_SELECT + "WHERE p.isActive = true AND p.price BETWEEN :minPrice AND :maxPrice")
+    List<ProductSummary> findSummariesByPriceRange(@Param("minPrice") BigDecimal minPrice,
+                                                   @Param("maxPrice") BigDecimal maxPrice);
+    
+    // Featured product summaries (top rated)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "catalog.featured")
+    })
+    @Query(SUMMARY_SELECT + "WHERE p.isActive = true ORDER BY p.averageRating DESC, p.reviewCount DESC")
+    List<ProductSummary> findFeaturedSummaries(Pageable pageable);
+    
+    // Product summaries for a set of ids (order not preserved)
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Products with their images, for snapshotting order lines
+    @EntityGraph(attributePaths = "images")
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Active products with specifications, for building the search index
+    @EntityGraph(attributePaths = "specifications")
+    @Query("SELECT p FROM Product p WHERE p.isActive = true")
+    List<Product> findActiveWithSpecifications();
+    
+    // Active products with sizes and colors, for building the facet index
+    @EntityGraph(attributePaths = {"sizes", "colors"})
+    @Query("SELECT p FROM Product p WHERE p.isActive = true")
+    List<Product> findActiveWithFacets();
+    
     // Find by stock quantity less than threshold
     List<Product> findByStockQuantityLessThanAndIsActiveTrue(Integer threshold);
     
@@ -48,9 +101,41 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByBrandAndIsActiveTrue(String brand);
     
     // Get distinct categories
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "catalog.categories")
+    })
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.isActive = true")
     List<String> findDistinctCategories();
     
+    // Get category of a product without loading it
+    @Query("SELECT p.category FROM Product p WHERE p.id = :id")
+    Optional<String> findCategoryById(@Param("id") Long id);
+    
+    // Which of the given ids are active products, in one query
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.isActive = true")
+    List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Stored rating aggregate and star histogram of a product
+    @Query("SELECT new com.shopease.dto.RatingSummary(p.averageRating, p.reviewCount, p.rating1Count, " +
+           "p.rating2Count, p.rating3Count, p.rating4Count, p.rating5Count) FROM Product p WHERE p.id = :id")
+    Optional<RatingSummary> findRatingSummaryById(@Param("id") Long id);
+    
+    // Product ids after the given one, for walking the catalog in batches
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Get stock quantity of a product without loading it
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+    
+    // Decrement stock only if enough is left; returns 1 on success, 0 otherwise
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+    
     // Find products by SKU
     Optional<Product> findBySkuAndIsActiveTrue(String sku);
 }
@@ -0,0 +1,60 @@
+package com.shopease.repository;
+
+import com.shopease.dto.ProductCursor;
+import com.shopease.dto.ProductSummary;
+import com.shopease.entity.Product;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ProductRepositoryCustom {
+    
+    /**
+     * Full product detail with images, sizes, colors and specifications, all
+     * initialized so the product can be cached and serialized detached.
+     * Images are fetch-joined; each element collection is a separate query
+     * (or a second-level cache hit), so the row count stays the sum of the
+     * collection sizes instead of their product.
+     */
+    Optional<Product> findDetailById(Long id);
+    
+    /**
+     * Conditionally decrement stock for several products in one JDBC batch.
+     * Each line only applies if enough stock is left; the result maps every
+     * product id to whether its decrement applied.
+     */
+    Map<Long, Boolean> decrementStockBatch(Map<Long, Integer> quantities);
+    
+    /**
+     * Fold one 1-5 rating into an active product's running sum, count, average
+     * and star histogram with a single atomic UPDATE. Returns false if no
+     * active product matched.
+     */
+    boolean addRating(Long productId, int rating);
+    
+    /**
+     * Move one existing rating from oldRating to newRating: the sum, average
+     * and both histogram columns change in a single atomic UPDATE, the count
+     * does not. Returns false if no active product matched.
+     */
+    boolean changeRating(Long productId, int oldRating, int newRating);
+    
+    /**
+     * Recompute the rating aggregates and star histograms of the given products
+     * from their reviews and write back those that drifted. Each write is
+     * conditional on the stored values read first, so a rating added mid-repair
+     * is never overwritten; that product is picked up by the next run instead.
+     * Returns the corrected ids.
+     */
+    List<Long> repairRatings(List<Long> productIds);
+    
+    /**
+     * Keyset page of active product summaries ordered by (sortField, id).
+     * Seeks past the cursor row instead of using an offset, and never counts.
+     * NULL sort values order lowest, so rows with no rating are paged too.
+     * category and after may be null.
+     */
+    List<ProductSummary> findSummariesAfter(String category, String sortField, boolean descending,
+                                            ProductCursor after, int limit);
+}
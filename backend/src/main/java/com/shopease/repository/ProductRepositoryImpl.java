@@ -0,0 +1,230 @@
+package com.shopease.repository;
+
+import com.shopease.dto.ProductCursor;
+import com.shopease.dto.ProductSummary;
+import com.shopease.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+    
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, updated_at = ? " +
+            "WHERE id = ? AND stock_quantity >= ?";
+    
+    // The average is computed from the pre-update sum and count, whichever order the database applies SET in;
+    // %d is the star column, filled in from a validated 1-5 rating
+    private static final String ADD_RATING_SQL =
+            "UPDATE products SET average_rating = (rating_sum + ?) / (review_count + 1.0), " +
+            "rating_sum = rating_sum + ?, review_count = review_count + 1, " +
+            "rating_%d_count = rating_%d_count + 1, updated_at = ? " +
+            "WHERE id = ? AND is_active = true";
+    
+    // Same shape as ADD_RATING_SQL for an edited review: the count stays, one star column moves to another
+    private static final String CHANGE_RATING_SQL =
+            "UPDATE products SET average_rating = (rating_sum + ?) / review_count, " +
+            "rating_sum = rating_sum + ?, rating_%d_count = rating_%d_count - 1, " +
+            "rating_%d_count = rating_%d_count + 1, updated_at = ? " +
+            "WHERE id = ? AND is_active = true AND review_count > 0";
+    
+    private static final String RATING_COLUMNS =
+            "rating_sum, review_count, rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count";
+    
+    private static final String REPAIR_RATING_SQL =
+            "UPDATE products SET rating_sum = ?, review_count = ?, rating_1_count = ?, rating_2_count = ?, " +
+            "rating_3_count = ?, rating_4_count = ?, rating_5_count = ?, average_rating = ?, updated_at = ? " +
+            "WHERE id = ? AND rating_sum = ? AND review_count = ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findDetailById(Long id) {
+        Optional<Product> product = entityManager.createQuery(
+                        "SELECT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id = :id", Product.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+        product.ifPresent(p -> {
+            Hibernate.initialize(p.getSizes());
+            Hibernate.initialize(p.getColors());
+            Hibernate.initialize(p.getSpecifications());
+        });
+        return product;
+    }
+    
+    @Override
+    @Transactional
+    public Map<Long, Boolean> decrementStockBatch(Map<Long, Integer> quantities) {
+        // Apply in id order so concurrent batches lock rows in the same order
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        List<Object[]> args = new ArrayList<>(ordered.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        ordered.forEach((id, quantity) -> args.add(new Object[] { quantity, now, id, quantity }));
+        
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, args);
+        
+        Map<Long, Boolean> results = new LinkedHashMap<>();
+        int i = 0;
+        for (Long id : ordered.keySet()) {
+            results.put(id, counts[i++] > 0);
+        }
+        return results;
+    }
+    
+    @Override
+    @Transactional
+    public boolean addRating(Long productId, int rating) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        String sql = String.format(ADD_RATING_SQL, rating, rating);
+        return jdbcTemplate.update(sql, rating, rating, Timestamp.valueOf(LocalDateTime.now()), productId) > 0;
+    }
+    
+    @Override
+    @Transactional
+    public boolean changeRating(Long productId, int oldRating, int newRating) {
+        if (oldRating < 1 || oldRating > 5 || newRating < 1 || newRating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        int delta = newRating - oldRating;
+        String sql = String.format(CHANGE_RATING_SQL, oldRating, oldRating, newRating, newRating);
+        return jdbcTemplate.update(sql, delta, delta, Timestamp.valueOf(LocalDateTime.now()), productId) > 0;
+    }
+    
+    @Override
+    @Transactional
+    public List<Long> repairRatings(List<Long> productIds) {
+        List<Long> repaired = new ArrayList<>();
+        if (productIds.isEmpty()) {
+            return repaired;
+        }
+        String in = String.join(",", Collections.nCopies(productIds.size(), "?"));
+        Object[] ids = productIds.toArray();
+        
+        // Aggregates as {sum, count, 1-star, ..., 5-star}. Stored values are read first:
+        // a rating added after this read makes the conditional write miss
+        Map<Long, long[]> stored = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, " + RATING_COLUMNS + " FROM products WHERE id IN (" + in + ")", rs -> {
+            long[] aggregate = new long[7];
+            for (int i = 0; i < aggregate.length; i++) {
+                aggregate[i] = rs.getLong(i + 2);
+            }
+            stored.put(rs.getLong(1), aggregate);
+        }, ids);
+        Map<Long, long[]> actual = new HashMap<>();
+        jdbcTemplate.query("SELECT product_id, rating, COUNT(*) FROM reviews WHERE product_id IN (" + in + ") " +
+                "GROUP BY product_id, rating", rs -> {
+            long[] aggregate = actual.computeIfAbsent(rs.getLong(1), id -> new long[7]);
+            int stars = rs.getInt(2);
+            long count = rs.getLong(3);
+            aggregate[0] += stars * count;
+            aggregate[1] += count;
+            if (stars >= 1 && stars <= 5) {
+                aggregate[stars + 1] = count;
+            }
+        }, ids);
+        
+        List<Long> drifted = new ArrayList<>();
+        List<Object[]> args = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        stored.forEach((id, current) -> {
+            long[] expected = actual.getOrDefault(id, new long[7]);
+            if (!Arrays.equals(expected, current)) {
+                double average = expected[1] == 0 ? 0.0 : (double) expected[0] / expected[1];
+                args.add(new Object[] { expected[0], expected[1], expected[2], expected[3], expected[4], expected[5],
+                        expected[6], average, now, id, current[0], current[1] });
+                drifted.add(id);
+            }
+        });
+        if (args.isEmpty()) {
+            return repaired;
+        }
+        
+        int[] counts = jdbcTemplate.batchUpdate(REPAIR_RATING_SQL, args);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                repaired.add(drifted.get(i));
+            }
+        }
+        return repaired;
+    }
+    
+    @Override
+    public List<ProductSummary> findSummariesAfter(String category, String sortField, boolean descending,
+                                                   ProductCursor after, int limit) {
+        if (!ProductCursor.SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        }
+        String field = "p." + sortField;
+        String direction = descending ? "DESC" : "ASC";
+        String comparison = descending ? "<" : ">";
+        
+        StringBuilder jpql = new StringBuilder(ProductRepository.SUMMARY_SELECT).append("WHERE p.isActive = true");
+        if (category != null) {
+            jpql.append(" AND p.category = :category");
+        }
+        // NULLs sort lowest, as MySQL orders them by default: first ascending, last descending
+        boolean nullable = ProductCursor.NULLABLE_SORT_FIELDS.contains(sortField);
+        boolean afterNull = after != null && after.getLastValue() == null;
+        if (afterNull && !nullable) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (afterNull) {
+            // Ascending, the rest of the NULL run and then every non-NULL value; descending, only the rest of the run
+            jpql.append(" AND ((").append(field).append(" IS NULL AND p.id ").append(comparison).append(" :lastId)");
+            if (!descending) {
+                jpql.append(" OR ").append(field).append(" IS NOT NULL");
+            }
+            jpql.append(')');
+        } else if (after != null) {
+            jpql.append(" AND (").append(field).append(' ').append(comparison).append(" :lastValue OR (")
+                .append(field).append(" = :lastValue AND p.id ").append(comparison).append(" :lastId)");
+            if (nullable && descending) {
+                jpql.append(" OR ").append(field).append(" IS NULL");
+            }
+            jpql.append(')');
+        }
+        jpql.append(" ORDER BY ").append(field).append(' ').append(direction);
+        if (nullable) {
+            jpql.append(descending ? " NULLS LAST" : " NULLS FIRST");
+        }
+        if (!"id".equals(sortField)) {
+            jpql.append(", p.id ").append(direction);
+        }
+        
+        TypedQuery<ProductSummary> query = entityManager.createQuery(jpql.toString(), ProductSummary.class);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (after != null) {
+            if (!afterNull) {
+                query.setParameter("lastValue", after.getLastValue());
+            }
+            query.setParameter("lastId", after.getLastId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
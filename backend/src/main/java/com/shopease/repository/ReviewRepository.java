@@ -0,0 +1,20 @@
+package com.shopease.repository;
+
+import com.shopease.entity.Review;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewRepositoryCustom {
+    
+    // A user's review of a product, locked so concurrent edits apply their rating changes one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.user.id = :userId AND r.product.id = :productId")
+    Optional<Review> findForUpdate(@Param("userId") Long userId, @Param("productId") Long productId);
+}
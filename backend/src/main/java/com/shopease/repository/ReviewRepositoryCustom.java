@@ -0,0 +1,16 @@
+package com.shopease.repository;
+
+import com.shopease.dto.ReviewCursor;
+import com.shopease.dto.ReviewView;
+
+import java.util.List;
+
+public interface ReviewRepositoryCustom {
+    
+    /**
+     * Keyset page of a product's reviews, newest first by (createdAt, id).
+     * Seeks past the cursor row using the (product_id[, is_verified_purchase],
+     * created_at, id) indexes instead of an offset. after may be null.
+     */
+    List<ReviewView> findViewsAfter(Long productId, boolean verifiedOnly, ReviewCursor after, int limit);
+}
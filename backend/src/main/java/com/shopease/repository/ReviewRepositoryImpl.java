@@ -0,0 +1,38 @@
+package com.shopease.repository;
+
+import com.shopease.dto.ReviewCursor;
+import com.shopease.dto.ReviewView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+public class ReviewRepositoryImpl implements ReviewRepositoryCustom {
+    
+    private static final String VIEW_SELECT = "SELECT new com.shopease.dto.ReviewView(r.id, r.product.id, u.id, " +
+            "u.firstName, r.rating, r.comment, r.isVerifiedPurchase, r.createdAt) FROM Review r JOIN r.user u ";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<ReviewView> findViewsAfter(Long productId, boolean verifiedOnly, ReviewCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(VIEW_SELECT).append("WHERE r.product.id = :productId");
+        if (verifiedOnly) {
+            jpql.append(" AND r.isVerifiedPurchase = true");
+        }
+        if (after != null) {
+            jpql.append(" AND (r.createdAt < :lastCreatedAt OR (r.createdAt = :lastCreatedAt AND r.id < :lastId))");
+        }
+        jpql.append(" ORDER BY r.createdAt DESC, r.id DESC");
+        
+        TypedQuery<ReviewView> query = entityManager.createQuery(jpql.toString(), ReviewView.class)
+                .setParameter("productId", productId);
+        if (after != null) {
+            query.setParameter("lastCreatedAt", after.getLastCreatedAt());
+            query.setParameter("lastId", after.getLastId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.shopease.search;
+
+import java.util.List;
+import java.util.Map;
+
+public class FacetResult {
+    
+    private final List<Long> productIds;
+    private final Map<String, Map<String, Integer>> facetCounts;
+    
+    public FacetResult(List<Long> productIds, Map<String, Map<String, Integer>> facetCounts) {
+        this.productIds = productIds;
+        this.facetCounts = facetCounts;
+    }
+    
+    // Matching product ids, best rated first
+    public List<Long> getProductIds() { return productIds; }
+    
+    public Map<String, Map<String, Integer>> getFacetCounts() { return facetCounts; }
+}
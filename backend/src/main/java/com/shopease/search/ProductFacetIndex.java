@@ -0,0 +1,288 @@
+package com.shopease.search;
+
+import com.shopease.dto.ProductFilter;
+import com.shopease.entity.Product;
+import com.shopease.event.ProductChangedEvent;
+import com.shopease.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bitmap index over the active catalog: one BitSet per facet value, indexed
+ * by product ordinal. A filter is a handful of bitset unions/intersections,
+ * and facet counts come from intersecting each value with the other facets'
+ * constraints. The index is an immutable snapshot, rebuilt in the background
+ * shortly after product writes.
+ */
+@Component
+public class ProductFacetIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ProductFacetIndex.class);
+    
+    public static final String CATEGORY = "category";
+    public static final String BRAND = "brand";
+    public static final String SIZE = "size";
+    public static final String COLOR = "color";
+    public static final String RATING = "rating";
+    public static final String PRICE = "price";
+    
+    // Rating facet values mean "N stars & up"
+    private static final int[] RATING_BUCKETS = {4, 3, 2, 1};
+    
+    private static final BigDecimal[] PRICE_BOUNDS = {
+            BigDecimal.ZERO, new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("200")
+    };
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    private volatile Snapshot snapshot = new Snapshot(new ArrayList<>());
+    
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Product> products = new ArrayList<>(productRepository.findActiveWithFacets());
+        products.sort(Comparator.comparing((Product p) -> p.getAverageRating() == null ? 0.0 : p.getAverageRating())
+                .reversed()
+                .thenComparing(Product::getId));
+        snapshot = new Snapshot(products);
+        logger.debug("Facet index built with {} products", products.size());
+    }
+    
+    // Stock is not a facet; everything else marks the snapshot stale
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() != ProductChangedEvent.ChangeType.STOCK) {
+            dirty.set(true);
+        }
+    }
+    
+    // Coalesce bursts of writes into one rebuild
+    @Scheduled(fixedDelayString = "${catalog.facets.refresh-interval-ms:2000}")
+    public void refreshIfDirty() {
+        if (dirty.compareAndSet(true, false)) {
+            rebuild();
+        }
+    }
+    
+    public FacetResult filter(ProductFilter filter) {
+        Snapshot current = snapshot;
+        
+        Map<String, BitSet> constraints = new LinkedHashMap<>();
+        putUnion(constraints, CATEGORY, current, filter.getCategories());
+        putUnion(constraints, BRAND, current, filter.getBrands());
+        putUnion(constraints, SIZE, current, filter.getSizes());
+        putUnion(constraints, COLOR, current, filter.getColors());
+        if (filter.getMinRating() != null && filter.getMinRating() > 0) {
+            constraints.put(RATING, current.ratingAtLeast(filter.getMinRating()));
+        }
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            constraints.put(PRICE, current.priceBetween(filter.getMinPrice(), filter.getMaxPrice()));
+        }
+        
+        BitSet matches = current.all();
+        constraints.values().forEach(matches::and);
+        
+        List<Long> ids = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            ids.add(current.ids[i]);
+        }
+        
+        // Each facet is counted against every constraint except its own
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, BitSet>> facet : current.facets.entrySet()) {
+            BitSet base = current.all();
+            constraints.forEach((name, bits) -> {
+                if (!name.equals(facet.getKey())) {
+                    base.and(bits);
+                }
+            });
+            Map<String, Integer> valueCounts = new LinkedHashMap<>();
+            facet.getValue().forEach((value, bits) -> {
+                BitSet intersection = (BitSet) base.clone();
+                intersection.and(bits);
+                valueCounts.put(value, intersection.cardinality());
+            });
+            counts.put(facet.getKey(), valueCounts);
+        }
+        return new FacetResult(ids, counts);
+    }
+    
+    private static void putUnion(Map<String, BitSet> constraints, String facet, Snapshot snapshot, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet union = new BitSet(snapshot.ids.length);
+        Map<String, BitSet> bitmaps = snapshot.facets.get(facet);
+        for (String value : values) {
+            BitSet bits = bitmaps.get(value);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        constraints.put(facet, union);
+    }
+    
+    private static final class Snapshot {
+        private final long[] ids;
+        private final BigDecimal[] prices;
+        private final double[] ratings;
+        
+        // Ordinals sorted by price, for range filters
+        private final int[] byPrice;
+        
+        private final Map<String, Map<String, BitSet>> facets = new LinkedHashMap<>();
+        
+        private Snapshot(List<Product> products) {
+            int n = products.size();
+            ids = new long[n];
+            prices = new BigDecimal[n];
+            ratings = new double[n];
+            Map<String, BitSet> categories = new TreeMap<>();
+            Map<String, BitSet> brands = new TreeMap<>();
+            Map<String, BitSet> sizes = new TreeMap<>();
+            Map<String, BitSet> colors = new TreeMap<>();
+            Map<String, BitSet> ratings = new LinkedHashMap<>();
+            Map<String, BitSet> priceBuckets = new LinkedHashMap<>();
+            for (int bucket : RATING_BUCKETS) {
+                ratings.put(String.valueOf(bucket), new BitSet(n));
+            }
+            for (int b = 0; b < PRICE_BOUNDS.length; b++) {
+                priceBuckets.put(priceLabel(b), new BitSet(n));
+            }
+            
+            for (int ordinal = 0; ordinal < n; ordinal++) {
+                Product product = products.get(ordinal);
+                ids[ordinal] = product.getId();
+                prices[ordinal] = product.getPrice();
+                set(categories, product.getCategory(), ordinal);
+                set(brands, product.getBrand(), ordinal);
+                product.getSizes().forEach(size -> set(sizes, size, ordinal));
+                product.getColors().forEach(color -> set(colors, color, ordinal));
+                double rating = product.getAverageRating() == null ? 0.0 : product.getAverageRating();
+                ratings[ordinal] = rating;
+                for (int bucket : RATING_BUCKETS) {
+                    if (rating >= bucket) {
+                        ratings.get(String.valueOf(bucket)).set(ordinal);
+                    }
+                }
+                priceBuckets.get(priceLabel(priceBucket(product.getPrice()))).set(ordinal);
+            }
+            
+            facets.put(CATEGORY, categories);
+            facets.put(BRAND, brands);
+            facets.put(SIZE, sizes);
+            facets.put(COLOR, colors);
+            facets.put(RATING, ratings);
+            facets.put(PRICE, priceBuckets);
+            
+            byPrice = new int[n];
+            List<Integer> ordinals = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                ordinals.add(i);
+            }
+            ordinals.sort(Comparator.comparing(i -> prices[i]));
+            for (int i = 0; i < n; i++) {
+                byPrice[i] = ordinals.get(i);
+            }
+        }
+        
+        private BitSet all() {
+            BitSet bits = new BitSet(ids.length);
+            bits.set(0, ids.length);
+            return bits;
+        }
+        
+        private BitSet ratingAtLeast(int minRating) {
+            BitSet bucket = facets.get(RATING).get(String.valueOf(minRating));
+            if (bucket != null) {
+                return bucket;
+            }
+            BitSet bits = new BitSet(ids.length);
+            for (int i = 0; i < ratings.length; i++) {
+                if (ratings[i] >= minRating) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        }
+        
+        private BitSet priceBetween(BigDecimal min, BigDecimal max) {
+            int from = min == null ? 0 : lowerBound(min);
+            int to = max == null ? byPrice.length : upperBound(max);
+            BitSet bits = new BitSet(ids.length);
+            for (int i = from; i < to; i++) {
+                bits.set(byPrice[i]);
+            }
+            return bits;
+        }
+        
+        // First position whose price is >= value
+        private int lowerBound(BigDecimal value) {
+            int low = 0;
+            int high = byPrice.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[byPrice[mid]].compareTo(value) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        // First position whose price is > value
+        private int upperBound(BigDecimal value) {
+            int low = 0;
+            int high = byPrice.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[byPrice[mid]].compareTo(value) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        private static void set(Map<String, BitSet> bitmaps, String value, int ordinal) {
+            if (value != null) {
+                bitmaps.computeIfAbsent(value, k -> new BitSet()).set(ordinal);
+            }
+        }
+        
+        private static int priceBucket(BigDecimal price) {
+            for (int b = PRICE_BOUNDS.length - 1; b > 0; b--) {
+                if (price.compareTo(PRICE_BOUNDS[b]) >= 0) {
+                    return b;
+                }
+            }
+            return 0;
+        }
+        
+        private static String priceLabel(int bucket) {
+            return bucket == PRICE_BOUNDS.length - 1
+                    ? PRICE_BOUNDS[bucket].toPlainString() + "+"
+                    : PRICE_BOUNDS[bucket].toPlainString() + "-" + PRICE_BOUNDS[bucket + 1].toPlainString();
+        }
+    }
+}
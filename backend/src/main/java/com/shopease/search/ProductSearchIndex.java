@@ -0,0 +1,233 @@
+package com.shopease.search;
+
+import com.shopease.entity.Product;
+import com.shopease.entity.ProductSpecification;
+import com.shopease.event.ProductChangedEvent;
+import com.shopease.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the active catalog. Replaces the
+ * LIKE '%term%' scan: every query term must match a field token exactly or
+ * as a prefix, and hits are ranked by field-weighted tf-idf.
+ */
+@Component
+public class ProductSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+    
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float BRAND_WEIGHT = 2.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float SPECIFICATION_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    
+    // Prefix matches rank below exact token matches
+    private static final float PREFIX_PENALTY = 0.5f;
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "the", "of", "for", "with", "in", "on", "to", "from", "by");
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    // term -> (productId -> weighted term frequency); sorted for prefix scans
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    
+    // productId -> terms, so a product can be removed without a full scan
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Build the index once sample data and the schema are in place
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Product> products = productRepository.findActiveWithSpecifications();
+        Map<Long, Map<String, Float>> documents = new HashMap<>();
+        for (Product product : products) {
+            documents.put(product.getId(), analyze(product));
+        }
+        
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            documents.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Search index built with {} products and {} terms", documents.size(), postings.size());
+    }
+    
+    // Keep the index in step with committed product writes; the re-read runs in its own transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> productRepository.findById(event.getProductId()).ifPresentOrElse(
+                    this::index, () -> remove(event.getProductId()));
+            case DELETED -> remove(event.getProductId());
+            default -> { }
+        }
+    }
+    
+    public void index(Product product) {
+        if (!Boolean.TRUE.equals(product.getIsActive())) {
+            remove(product.getId());
+            return;
+        }
+        Map<String, Float> terms = analyze(product);
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            addDocument(product.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Rank all products matching every term of the query.
+     * Returns product ids, best match first (ties broken by id).
+     */
+    public List<Long> search(String query) {
+        List<SearchHit> hits = searchHits(query);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(hit.getProductId());
+        }
+        return ids;
+    }
+    
+    // Same ranking as search(), keeping the scores for keyset paging
+    public List<SearchHit> searchHits(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            int documentCount = documentTerms.size();
+            for (String term : queryTerms) {
+                Map<Long, Float> termScores = scoreTerm(term, documentCount);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    final Map<Long, Float> current = scores;
+                    termScores.forEach((id, score) -> current.computeIfPresent(id, (k, v) -> v + score));
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new SearchHit(id, score)));
+            hits.sort(SearchHit.RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Best score per product for one query term across exact and prefix matches
+    private Map<Long, Float> scoreTerm(String term, int documentCount) {
+        Map<Long, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.tailMap(term, true).entrySet()) {
+            String indexed = entry.getKey();
+            if (!indexed.startsWith(term)) {
+                break;
+            }
+            Map<Long, Float> postingList = entry.getValue();
+            float idf = (float) Math.log(1.0 + (double) documentCount / postingList.size());
+            float boost = indexed.length() == term.length() ? 1.0f : PREFIX_PENALTY;
+            postingList.forEach((id, tf) -> scores.merge(id, tf * idf * boost, Math::max));
+        }
+        return scores;
+    }
+    
+    private void addDocument(Long productId, Map<String, Float> terms) {
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, k -> new HashMap<>()).put(productId, weight));
+        documentTerms.put(productId, terms.keySet());
+    }
+    
+    private void removeDocument(Long productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(productId);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    // Field-weighted term frequencies for one product
+    private Map<String, Float> analyze(Product product) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, product.getName(), NAME_WEIGHT);
+        addField(terms, product.getBrand(), BRAND_WEIGHT);
+        addField(terms, product.getCategory(), CATEGORY_WEIGHT);
+        addField(terms, product.getDescription(), DESCRIPTION_WEIGHT);
+        for (ProductSpecification specification : product.getSpecifications()) {
+            addField(terms, specification.getValue(), SPECIFICATION_WEIGHT);
+        }
+        return terms;
+    }
+    
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+    
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,23 @@
+package com.shopease.search;
+
+import java.util.Comparator;
+
+public class SearchHit {
+    
+    // Best score first, ties broken by ascending id
+    public static final Comparator<SearchHit> RANKING = Comparator
+            .comparing(SearchHit::getScore, Comparator.reverseOrder())
+            .thenComparing(SearchHit::getProductId);
+    
+    private final Long productId;
+    private final float score;
+    
+    public SearchHit(Long productId, float score) {
+        this.productId = productId;
+        this.score = score;
+    }
+    
+    // Getters
+    public Long getProductId() { return productId; }
+    public float getScore() { return score; }
+}
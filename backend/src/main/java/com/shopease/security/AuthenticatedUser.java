@@ -0,0 +1,30 @@
+package com.shopease.security;
+
+/**
+ * Principal of a request authenticated with a bearer token.
+ */
+public class AuthenticatedUser {
+    
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final String tokenId;
+    
+    public AuthenticatedUser(Long userId, String email, String role, String tokenId) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.tokenId = tokenId;
+    }
+    
+    // Getters
+    public Long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+    public String getTokenId() { return tokenId; }
+    
+    @Override
+    public String toString() {
+        return email;
+    }
+}
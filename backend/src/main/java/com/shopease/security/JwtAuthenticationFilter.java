@@ -0,0 +1,91 @@
+package com.shopease.security;
+
+import com.shopease.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates "Authorization: Bearer" requests. Verified tokens are cached
+ * until they expire; only a cache miss pays for signature verification.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    private final UserRepository userRepository;
+    
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, VerifiedTokenCache tokenCache,
+                                   TokenRevocationList revocationList, UserRepository userRepository) {
+        this.jwtUtils = jwtUtils;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.userRepository = userRepository;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null) {
+            AuthenticatedUser user = authenticate(token);
+            if (user != null) {
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole())));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+    
+    public static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+    
+    private AuthenticatedUser authenticate(String token) {
+        AuthenticatedUser cached = tokenCache.get(token);
+        if (cached != null) {
+            return revocationList.isRevoked(cached.getTokenId()) ? null : cached;
+        }
+        
+        Claims claims = jwtUtils.parseClaims(token).orElse(null);
+        if (claims == null || revocationList.isRevoked(claims.getId())) {
+            return null;
+        }
+        
+        AuthenticatedUser user = toUser(claims);
+        if (user != null) {
+            tokenCache.put(token, user, claims.getExpiration().getTime());
+        }
+        return user;
+    }
+    
+    private AuthenticatedUser toUser(Claims claims) {
+        Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtils.ROLE_CLAIM, String.class);
+        if (userId != null && role != null) {
+            return new AuthenticatedUser(userId, claims.getSubject(), role, claims.getId());
+        }
+        // Tokens issued before user id/role claims: one lookup, then cached
+        return userRepository.findByEmailAndIsActiveTrue(claims.getSubject())
+                .map(u -> new AuthenticatedUser(u.getId(), u.getEmail(), u.getRole().name(), claims.getId()))
+                .orElse(null);
+    }
+}
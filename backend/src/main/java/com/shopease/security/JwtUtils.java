@@ -2,62 +2,139 @@ package com.shopease.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
     
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
+    // Secrets rotated out that should still verify tokens until they expire
+    @Value("${jwt.previous-secrets:}")
+    private List<String> previousSecrets;
+    
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
     
-    public String generateJwtToken(String email) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Built once; SecretKey and JwtParser are immutable and thread-safe
+    private SecretKey signingKey;
+    private String signingKeyId;
+    private Map<String, SecretKey> verificationKeys;
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        signingKeyId = keyId(jwtSecret);
+        
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        keys.put(signingKeyId, signingKey);
+        for (String secret : previousSecrets) {
+            if (!secret.isBlank()) {
+                keys.put(keyId(secret), Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        verificationKeys = Map.copyOf(keys);
         
-        return Jwts.builder()
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        // Tokens issued before key ids were added carry no kid
+                        String kid = header.getKeyId();
+                        Key key = kid == null ? signingKey : verificationKeys.get(kid);
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+    
+    public String generateJwtToken(String email) {
+        return generateJwtToken(null, email, null);
+    }
+    
+    // Token carrying user id and role, so requests authenticate without a user lookup
+    public String generateJwtToken(Long userId, String email, String role) {
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs));
+        if (userId != null) {
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+        if (role != null) {
+            builder.claim(ROLE_CLAIM, role);
+        }
+        return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
     
     public String getEmailFromJwtToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
     
     public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+    
+    // Validate and extract claims in a single parse; empty if the token is invalid
+    public Optional<Claims> parseClaims(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        } catch (JwtException e) {
+            // Anything else the parser rejects (premature, undecodable, ...) is just as invalid
+            logger.error("JWT token rejected: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            logger.error("JWT token is empty or could not be decoded: {}", e.getMessage());
         }
         
-        return false;
+        return Optional.empty();
+    }
+    
+    // Stable short id for a secret, so every node derives the same kid
+    private static String keyId(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,106 @@
+package com.shopease.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory token buckets for a single node. Each bucket is updated with a
+ * compare-and-set on an immutable state, so concurrent attempts never block.
+ * The map is bounded: buckets that have refilled are dropped first (a fresh
+ * bucket is identical), then the least recently used ones.
+ */
+@Component
+public class LocalTokenBucketStore implements TokenBucketStore {
+    
+    @Value("${security.login-rate-limit.max-entries:100000}")
+    private int maxEntries;
+    
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    
+    @Override
+    public long tryConsume(String key, long capacity, double tokensPerSecond) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, tokensPerSecond, now));
+        }
+        return bucket.tryConsume(now);
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+    
+    // Drop buckets that have refilled completely
+    @Scheduled(fixedDelayString = "${security.login-rate-limit.sweep-interval-ms:60000}")
+    public void purgeIdle() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+    }
+    
+    private void evict(long now) {
+        purgeIdle();
+        int excess = buckets.size() - maxEntries + Math.max(1, maxEntries / 10);
+        if (excess <= 0) {
+            return;
+        }
+        // Still full of active buckets: shed the least recently touched tenth
+        buckets.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastTouched()))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(buckets::remove);
+    }
+    
+    private static final class Bucket {
+        
+        private final long capacity;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+        
+        Bucket(long capacity, double tokensPerSecond, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerSecond / 1_000_000_000.0;
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+        
+        long tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = refilled(current, now);
+                if (tokens < 1.0) {
+                    return (long) Math.ceil((1.0 - tokens) / tokensPerNano);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1.0, Math.max(now, current.updatedAt)))) {
+                    return 0;
+                }
+            }
+        }
+        
+        boolean isFull(long now) {
+            return refilled(state.get(), now) >= capacity;
+        }
+        
+        long lastTouched() {
+            return state.get().updatedAt;
+        }
+        
+        private double refilled(State current, long now) {
+            long elapsed = Math.max(0, now - current.updatedAt);
+            return Math.min(capacity, current.tokens + elapsed * tokensPerNano);
+        }
+    }
+    
+    private record State(double tokens, long updatedAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.shopease.security;
+
+/**
+ * Throttles login attempts per client. Implementations decide where bucket
+ * state lives; the default keeps it in this node's memory.
+ */
+public interface LoginRateLimiter {
+    
+    /**
+     * Takes one attempt for the given client IP and email.
+     * Returns 0 when allowed, otherwise the seconds to wait before retrying.
+     */
+    long tryAcquire(String clientIp, String email);
+}
@@ -0,0 +1,12 @@
+package com.shopease.security;
+
+/**
+ * Thrown when the password hashing pool is saturated, so the request can
+ * fail fast with 503 instead of queueing behind a login storm.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,104 @@
+package com.shopease.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated pool sized to the CPU count, off the servlet
+ * threads. The queue is bounded; when it is full, work is rejected at once
+ * with PasswordHashingRejectedException rather than piling up.
+ */
+@Component
+public class PasswordHashingService {
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;
+    
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+    
+    private ThreadPoolExecutor executor;
+    
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+    
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+    
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+    
+    // True if the hash was made with a lower cost than currently configured
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+    
+    public PasswordHashingStats stats() {
+        long count = completed.get();
+        double averageMs = count == 0 ? 0.0 : totalNanos.get() / (double) count / 1_000_000.0;
+        return new PasswordHashingStats(executor.getPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, count, rejected.get(),
+                averageMs, maxNanos.get() / 1_000_000.0);
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timed(task), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new PasswordHashingRejectedException("Server is busy, please try again shortly"));
+        }
+    }
+    
+    private <T> T timed(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            completed.incrementAndGet();
+            totalNanos.addAndGet(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.shopease.security;
+
+public class PasswordHashingStats {
+    
+    private final int poolSize;
+    private final int activeCount;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long completed;
+    private final long rejected;
+    private final double averageLatencyMs;
+    private final double maxLatencyMs;
+    
+    public PasswordHashingStats(int poolSize, int activeCount, int queueDepth, int queueCapacity,
+                                long completed, long rejected, double averageLatencyMs, double maxLatencyMs) {
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.averageLatencyMs = averageLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+    
+    // Getters
+    public int getPoolSize() { return poolSize; }
+    public int getActiveCount() { return activeCount; }
+    public int getQueueDepth() { return queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public long getCompleted() { return completed; }
+    public long getRejected() { return rejected; }
+    public double getAverageLatencyMs() { return averageLatencyMs; }
+    public double getMaxLatencyMs() { return maxLatencyMs; }
+}
@@ -0,0 +1,61 @@
+package com.shopease.security;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets kept as plain values in a map that several nodes share,
+ * standing in for a shared store such as Redis. Each limiter instance gets
+ * its own store over the same map, the way each node would hold its own
+ * client to one server.
+ *
+ * Timestamps are wall-clock milliseconds, since System.nanoTime is only
+ * comparable within one JVM. Every update replaces the exact value that was
+ * read and retries if another node got there first, the check-and-set a
+ * Redis transaction or script gives. Expiring idle keys is left to the
+ * backing store.
+ */
+public class SharedMapTokenBucketStore implements TokenBucketStore {
+    
+    private final ConcurrentMap<String, BucketState> buckets;
+    private final LongSupplier clock;
+    
+    public SharedMapTokenBucketStore(ConcurrentMap<String, BucketState> buckets) {
+        this(buckets, System::currentTimeMillis);
+    }
+    
+    public SharedMapTokenBucketStore(ConcurrentMap<String, BucketState> buckets, LongSupplier clock) {
+        this.buckets = buckets;
+        this.clock = clock;
+    }
+    
+    @Override
+    public long tryConsume(String key, long capacity, double tokensPerSecond) {
+        double tokensPerMilli = tokensPerSecond / 1000.0;
+        while (true) {
+            long now = clock.getAsLong();
+            BucketState current = buckets.get(key);
+            double tokens = current == null ? capacity : current.refilled(now, capacity, tokensPerMilli);
+            if (tokens < 1.0) {
+                return TimeUnit.MILLISECONDS.toNanos((long) Math.ceil((1.0 - tokens) / tokensPerMilli));
+            }
+            if (current == null) {
+                if (buckets.putIfAbsent(key, new BucketState(tokens - 1.0, now)) == null) {
+                    return 0;
+                }
+            } else if (buckets.replace(key, current,
+                    new BucketState(tokens - 1.0, Math.max(now, current.updatedAtMillis())))) {
+                return 0;
+            }
+        }
+    }
+    
+    public record BucketState(double tokens, long updatedAtMillis) {
+        
+        double refilled(long now, long capacity, double tokensPerMilli) {
+            long elapsed = Math.max(0, now - updatedAtMillis);
+            return Math.min(capacity, tokens + elapsed * tokensPerMilli);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.shopease.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket login limits applied per client IP and per email, so neither
+ * one address spraying many accounts nor many addresses hammering one
+ * account gets through.
+ */
+@Component
+public class TokenBucketLoginRateLimiter implements LoginRateLimiter {
+    
+    @Autowired
+    private TokenBucketStore tokenBucketStore;
+    
+    @Value("${security.login-rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${security.login-rate-limit.ip.capacity:20}")
+    private long ipCapacity;
+    
+    @Value("${security.login-rate-limit.ip.refill-per-minute:10}")
+    private double ipRefillPerMinute;
+    
+    @Value("${security.login-rate-limit.email.capacity:5}")
+    private long emailCapacity;
+    
+    @Value("${security.login-rate-limit.email.refill-per-minute:2}")
+    private double emailRefillPerMinute;
+    
+    @Override
+    public long tryAcquire(String clientIp, String email) {
+        if (!enabled) {
+            return 0;
+        }
+        
+        long waitNanos = tokenBucketStore.tryConsume("ip:" + clientIp, ipCapacity, ipRefillPerMinute / 60.0);
+        if (waitNanos == 0 && email != null) {
+            waitNanos = tokenBucketStore.tryConsume("email:" + email.trim().toLowerCase(Locale.ROOT),
+                    emailCapacity, emailRefillPerMinute / 60.0);
+        }
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+    }
+}
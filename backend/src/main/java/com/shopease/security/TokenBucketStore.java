@@ -0,0 +1,15 @@
+package com.shopease.security;
+
+/**
+ * Backing store for token buckets. A shared store (e.g. Redis) can implement
+ * this to enforce the same limits across nodes; SharedMapTokenBucketStore
+ * models one over a map.
+ */
+public interface TokenBucketStore {
+    
+    /**
+     * Takes one token from the bucket for key, creating it full if absent.
+     * Returns 0 when a token was taken, otherwise nanos until one is available.
+     */
+    long tryConsume(String key, long capacity, double tokensPerSecond);
+}
@@ -0,0 +1,34 @@
+package com.shopease.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token ids revoked by logout. An id only needs to be remembered until its
+ * token would have expired anyway.
+ */
+@Component
+public class TokenRevocationList {
+    
+    // token id -> token expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    
+    public void revoke(String tokenId, long expiresAt) {
+        if (tokenId != null) {
+            revoked.put(tokenId, expiresAt);
+        }
+    }
+    
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+    
+    @Scheduled(fixedDelayString = "${security.token-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
@@ -0,0 +1,65 @@
+package com.shopease.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache from raw bearer token to its verified principal. An entry
+ * lives no longer than the token itself, so a hot session costs one map
+ * lookup instead of an HMAC check (and possibly a user lookup).
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    @Value("${security.token-cache.max-entries:10000}")
+    private int maxEntries;
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    public AuthenticatedUser get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.user;
+    }
+    
+    public void put(String token, AuthenticatedUser user, long expiresAt) {
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                // Still full of live sessions: skip caching rather than grow unbounded
+                return;
+            }
+        }
+        entries.put(token, new Entry(user, expiresAt));
+    }
+    
+    public void invalidate(String token) {
+        entries.remove(token);
+    }
+    
+    @Scheduled(fixedDelayString = "${security.token-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+    
+    private static final class Entry {
+        private final AuthenticatedUser user;
+        private final long expiresAt;
+        
+        private Entry(AuthenticatedUser user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
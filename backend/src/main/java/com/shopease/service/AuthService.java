@@ -6,10 +6,16 @@ import com.shopease.dto.SignupRequest;
 import com.shopease.entity.User;
 import com.shopease.repository.UserRepository;
 import com.shopease.security.JwtUtils;
+import com.shopease.security.PasswordHashingService;
+import com.shopease.security.TokenRevocationList;
+import com.shopease.security.VerifiedTokenCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class AuthService {
     
@@ -17,50 +23,87 @@ public class AuthService {
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
     @Autowired
     private JwtUtils jwtUtils;
     
-    public User signup(SignupRequest signupRequest) {
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    
+    // Database work after a hash runs here, so the CPU-sized hashing pool only ever hashes
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+    
+    public CompletableFuture<User> signup(SignupRequest signupRequest) {
         // Check if user already exists
         if (userRepository.existsByEmail(signupRequest.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
+            return CompletableFuture.failedFuture(new RuntimeException("Email is already in use!"));
         }
         
-        // Create new user
-        User user = new User();
-        user.setFirstName(signupRequest.getFirstName());
-        user.setLastName(signupRequest.getLastName());
-        user.setEmail(signupRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(signupRequest.getPassword()));
-        user.setPhoneNumber(signupRequest.getPhoneNumber());
-        user.setRole(User.Role.CUSTOMER);
-        user.setIsActive(true);
-        
-        return userRepository.save(user);
+        // Hash on the bounded pool, then create the user off it
+        return passwordHashingService.encode(signupRequest.getPassword()).thenApplyAsync(hash -> {
+            User user = new User();
+            user.setFirstName(signupRequest.getFirstName());
+            user.setLastName(signupRequest.getLastName());
+            user.setEmail(signupRequest.getEmail());
+            user.setPassword(hash);
+            user.setPhoneNumber(signupRequest.getPhoneNumber());
+            user.setRole(User.Role.CUSTOMER);
+            user.setIsActive(true);
+            
+            return userRepository.save(user);
+        }, taskExecutor);
     }
     
-    public LoginResponse login(LoginRequest loginRequest) {
+    public CompletableFuture<LoginResponse> login(LoginRequest loginRequest) {
         // Find user by email
-        User user = userRepository.findByEmailAndIsActiveTrue(loginRequest.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid email or password"));
-        
-        // Check password
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid email or password");
+        User user = userRepository.findByEmailAndIsActiveTrue(loginRequest.getEmail()).orElse(null);
+        if (user == null) {
+            return CompletableFuture.failedFuture(new RuntimeException("Invalid email or password"));
         }
         
-        // Generate JWT token
-        String jwt = jwtUtils.generateJwtToken(user.getEmail());
-        
-        return new LoginResponse(
-                jwt,
-                user.getId(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getEmail(),
-                user.getRole().name()
-        );
+        // Check password on the bounded pool
+        return passwordHashingService.matches(loginRequest.getPassword(), user.getPassword()).thenApplyAsync(matched -> {
+            if (!matched) {
+                throw new RuntimeException("Invalid email or password");
+            }
+            
+            if (passwordHashingService.needsRehash(user.getPassword())) {
+                rehash(user.getId(), loginRequest.getPassword());
+            }
+            
+            // Generate JWT token
+            String jwt = jwtUtils.generateJwtToken(user.getId(), user.getEmail(), user.getRole().name());
+            
+            return new LoginResponse(
+                    jwt,
+                    user.getId(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getEmail(),
+                    user.getRole().name()
+            );
+        }, taskExecutor);
+    }
+    
+    // Re-encode at the configured cost in the background; a busy pool just skips it until next login
+    private void rehash(Long userId, String rawPassword) {
+        passwordHashingService.encode(rawPassword)
+                .thenAcceptAsync(hash -> userRepository.updatePassword(userId, hash), taskExecutor);
+    }
+    
+    // Revoke the token so it stops authenticating before it expires
+    public void logout(String token) {
+        if (token == null) {
+            return;
+        }
+        jwtUtils.parseClaims(token).ifPresent(claims ->
+                tokenRevocationList.revoke(claims.getId(), claims.getExpiration().getTime()));
+        verifiedTokenCache.invalidate(token);
     }
 }
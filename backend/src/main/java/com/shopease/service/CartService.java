@@ -1,87 +1,207 @@
 package com.shopease.service;
 
+import com.shopease.cart.CartLine;
+import com.shopease.cart.CartOperation;
+import com.shopease.cart.CartStore;
+import com.shopease.dto.CartBatchRequest;
 import com.shopease.dto.CartItemRequest;
-import com.shopease.entity.CartItem;
-import com.shopease.entity.Product;
-import com.shopease.entity.User;
+import com.shopease.dto.CartItemView;
+import com.shopease.dto.CartResponse;
+import com.shopease.dto.ProductSummary;
+import com.shopease.pricing.PricingContext;
+import com.shopease.pricing.PricingEngine;
 import com.shopease.repository.CartRepository;
 import com.shopease.repository.ProductRepository;
-import com.shopease.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Cart operations backed by CartStore: reads and counts are answered from
+ * memory and writes reach cart_items through the store's batched flush.
+ */
 @Service
 public class CartService {
     
-    @Autowired
-    private CartRepository cartRepository;
+    private static final Logger logger = LoggerFactory.getLogger(CartService.class);
     
     @Autowired
-    private UserRepository userRepository;
+    private CartStore cartStore;
     
     @Autowired
     private ProductRepository productRepository;
     
-    public List<CartItem> getCartItems(Long userId) {
-        return cartRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private PricingEngine pricingEngine;
+    
+    @Value("${cart.cleanup.abandoned-after-days:30}")
+    private long abandonedAfterDays;
+    
+    @Value("${cart.cleanup.batch-size:500}")
+    private int cleanupBatchSize;
+    
+    // Cart lines with server-computed totals
+    public CartResponse getCart(Long userId, String couponCode) {
+        return priced(cartStore.getLines(userId), couponCode);
     }
     
-    public CartItem addToCart(CartItemRequest request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-        
-        // Check if item already exists in cart
-        Optional<CartItem> existingItem = cartRepository.findByUserIdAndProductIdAndSelectedSizeAndSelectedColor(
-                request.getUserId(), request.getProductId(), request.getSelectedSize(), request.getSelectedColor());
-        
-        if (existingItem.isPresent()) {
-            // Update quantity
-            CartItem cartItem = existingItem.get();
-            cartItem.setQuantity(cartItem.getQuantity() + request.getQuantity());
-            return cartRepository.save(cartItem);
-        } else {
-            // Create new cart item
-            CartItem cartItem = new CartItem();
-            cartItem.setUser(user);
-            cartItem.setProduct(product);
-            cartItem.setQuantity(request.getQuantity());
-            cartItem.setSelectedSize(request.getSelectedSize());
-            cartItem.setSelectedColor(request.getSelectedColor());
-            return cartRepository.save(cartItem);
-        }
+    public CartLine addToCart(CartItemRequest request) {
+        requireActiveProducts(Set.of(request.getProductId()));
+        return cartStore.addLine(request.getUserId(), request.getProductId(), request.getQuantity(),
+                request.getSelectedSize(), request.getSelectedColor());
     }
     
-    public CartItem updateCartItem(Long cartItemId, Integer quantity) {
-        CartItem cartItem = cartRepository.findById(cartItemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found"));
-        
-        if (quantity <= 0) {
-            cartRepository.delete(cartItem);
-            return null;
-        }
-        
-        cartItem.setQuantity(quantity);
-        return cartRepository.save(cartItem);
+    public CartLine updateCartItem(Long cartItemId, Integer quantity) {
+        return cartStore.updateQuantity(ownerOf(cartItemId), cartItemId, quantity);
     }
     
     public void removeFromCart(Long cartItemId) {
-        CartItem cartItem = cartRepository.findById(cartItemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found"));
-        cartRepository.delete(cartItem);
+        cartStore.removeLine(ownerOf(cartItemId), cartItemId);
+    }
+    
+    /**
+     * Apply a list of add/update/remove operations as one unit: every product
+     * being added is checked in a single query, then the store applies all
+     * operations or none. Returns the resulting cart with its totals.
+     */
+    public CartResponse applyCartOperations(Long userId, CartBatchRequest request, String couponCode) {
+        List<CartOperation> operations = new ArrayList<>(request.getOperations().size());
+        Set<Long> productIds = new HashSet<>();
+        for (CartBatchRequest.Operation operation : request.getOperations()) {
+            switch (operation.getType().toLowerCase(Locale.ROOT)) {
+                case "add" -> {
+                    if (operation.getProductId() == null || operation.getQuantity() == null
+                            || operation.getQuantity() < 1) {
+                        throw new RuntimeException("Add requires a product ID and a quantity of at least 1");
+                    }
+                    productIds.add(operation.getProductId());
+                    operations.add(CartOperation.add(operation.getProductId(), operation.getQuantity(),
+                            operation.getSelectedSize(), operation.getSelectedColor()));
+                }
+                case "update" -> {
+                    if (operation.getCartItemId() == null || operation.getQuantity() == null) {
+                        throw new RuntimeException("Update requires a cart item ID and a quantity");
+                    }
+                    operations.add(CartOperation.update(operation.getCartItemId(), operation.getQuantity()));
+                }
+                case "remove" -> {
+                    if (operation.getCartItemId() == null) {
+                        throw new RuntimeException("Remove requires a cart item ID");
+                    }
+                    operations.add(CartOperation.remove(operation.getCartItemId()));
+                }
+                default -> throw new RuntimeException("Unknown cart operation: " + operation.getType());
+            }
+        }
+        
+        if (!productIds.isEmpty()) {
+            requireActiveProducts(productIds);
+        }
+        
+        return priced(cartStore.applyAll(userId, operations), couponCode);
     }
     
     public void clearCart(Long userId) {
-        List<CartItem> cartItems = cartRepository.findByUserId(userId);
-        cartRepository.deleteAll(cartItems);
+        cartStore.clear(userId);
     }
     
     public Integer getCartItemCount(Long userId) {
-        return cartRepository.countByUserId(userId);
+        return cartStore.countLines(userId);
+    }
+    
+    /**
+     * Delete carts untouched for longer than cart.cleanup.abandoned-after-days,
+     * one chunk of owners per statement so no single delete holds locks for
+     * long. Owners are walked in id order, so chunks of in-use carts do not
+     * stall the walk. Carts with unflushed changes in the store are skipped,
+     * and the delete re-checks the cutoff for carts touched since the chunk
+     * was read.
+     */
+    @Scheduled(fixedDelayString = "${cart.cleanup.interval-ms:3600000}",
+               initialDelayString = "${cart.cleanup.interval-ms:3600000}")
+    public void purgeAbandonedCarts() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(abandonedAfterDays);
+        int purgedLines = 0;
+        long afterUserId = 0;
+        while (true) {
+            List<Long> owners = cartRepository.findAbandonedCartOwners(cutoff, afterUserId,
+                    PageRequest.of(0, cleanupBatchSize));
+            if (owners.isEmpty()) {
+                break;
+            }
+            List<Long> purgeable = cartStore.discard(owners);
+            purgedLines += cartRepository.deleteAbandonedCarts(purgeable, cutoff);
+            if (owners.size() < cleanupBatchSize) {
+                break;
+            }
+            afterUserId = owners.get(owners.size() - 1);
+        }
+        if (purgedLines > 0) {
+            logger.info("Purged {} lines from abandoned carts", purgedLines);
+        }
+    }
+    
+    /**
+     * Build the cart view: product name, primary image and prices for every
+     * line come from one summary query, however many lines the cart has.
+     */
+    private CartResponse priced(List<CartLine> lines, String couponCode) {
+        PricingContext context = new PricingContext(couponCode);
+        List<CartItemView> items = new ArrayList<>(lines.size());
+        if (!lines.isEmpty()) {
+            Set<Long> productIds = new HashSet<>();
+            for (CartLine line : lines) {
+                productIds.add(line.getProductId());
+            }
+            Map<Long, ProductSummary> products = new HashMap<>();
+            for (ProductSummary product : productRepository.findSummariesByIdIn(productIds)) {
+                products.put(product.getId(), product);
+            }
+            for (CartLine line : lines) {
+                ProductSummary product = products.get(line.getProductId());
+                long lineCents = 0;
+                if (product != null) {
+                    long unitCents = PricingContext.toCents(product.getPrice());
+                    context.addLine(unitCents, PricingContext.toCents(product.getOriginalPrice()), line.getQuantity());
+                    lineCents = unitCents * line.getQuantity();
+                }
+                items.add(new CartItemView(line, product, PricingContext.fromCents(lineCents)));
+            }
+        }
+        return new CartResponse(items, pricingEngine.price(context));
+    }
+    
+    // The same check for single adds and batches: inactive products cannot be added
+    private void requireActiveProducts(Set<Long> productIds) {
+        Set<Long> missing = new HashSet<>(productIds);
+        missing.removeAll(productRepository.findActiveIdsByIdIn(productIds));
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Product not found: " + missing.iterator().next());
+        }
+    }
+    
+    private Long ownerOf(Long cartItemId) {
+        Long userId = cartStore.findOwner(cartItemId);
+        if (userId == null) {
+            throw new RuntimeException("Cart item not found");
+        }
+        return userId;
     }
 }
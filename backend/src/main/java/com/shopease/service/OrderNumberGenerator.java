@@ -0,0 +1,63 @@
+package com.shopease.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style id generator: 41 bits of milliseconds since a custom
+ * epoch, 10 bits of node id and a 12-bit per-millisecond sequence. Ids are
+ * unique across nodes with distinct node ids and strictly increasing per
+ * node, with no lock or database round trip.
+ */
+@Component
+public class OrderNumberGenerator {
+    
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    
+    // 36^13 > 2^63, so every id fits in 13 base-36 digits
+    private static final int ORDER_NUMBER_DIGITS = 13;
+    
+    @Value("${order.number.node-id:0}")
+    private long nodeId;
+    
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong state = new AtomicLong();
+    
+    @PostConstruct
+    void validateNodeId() {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("order.number.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+    }
+    
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            // Within the same millisecond (or if the clock stepped back) continue
+            // from the last value; a sequence overflow carries into the timestamp
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+    
+    // Fixed-width, so order numbers also sort in creation order
+    public String nextOrderNumber() {
+        String digits = Long.toString(nextId(), 36).toUpperCase(Locale.ROOT);
+        return "ORD-" + "0".repeat(ORDER_NUMBER_DIGITS - digits.length()) + digits;
+    }
+}
@@ -0,0 +1,161 @@
+package com.shopease.service;
+
+import com.shopease.cart.CartLine;
+import com.shopease.cart.CartStore;
+import com.shopease.dto.OrderResponse;
+import com.shopease.dto.PlaceOrderRequest;
+import com.shopease.dto.StockReservation;
+import com.shopease.entity.Order;
+import com.shopease.entity.OrderItem;
+import com.shopease.entity.Product;
+import com.shopease.entity.User;
+import com.shopease.pricing.PriceBreakdown;
+import com.shopease.pricing.PricingContext;
+import com.shopease.pricing.PricingEngine;
+import com.shopease.repository.OrderRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@Service
+public class OrderService {
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private CartStore cartStore;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StockReservationService reservationService;
+    
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+    
+    @Autowired
+    private PricingEngine pricingEngine;
+    
+    /**
+     * Convert the user's cart into an order: snapshot the lines, decrement
+     * stock and insert the items in one batch, all in one transaction. Any
+     * line without enough stock rolls the whole order back; the ordered lines
+     * only leave the cart once the order has committed.
+     */
+    @Transactional
+    public OrderResponse placeOrder(Long userId, PlaceOrderRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        List<CartLine> cartLines = cartStore.getLines(user.getId());
+        if (cartLines.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+        
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CartLine line : cartLines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findWithImagesByIdIn(quantities.keySet())) {
+            products.put(product.getId(), product);
+        }
+        
+        List<OrderItem> orderItems = new ArrayList<>(cartLines.size());
+        PricingContext pricing = new PricingContext(request.getCouponCode());
+        for (CartLine line : cartLines) {
+            Product product = products.get(line.getProductId());
+            if (product == null) {
+                throw new RuntimeException("Product not found: " + line.getProductId());
+            }
+            OrderItem orderItem = new OrderItem(product, line.getQuantity(), product.getPrice());
+            orderItem.setSelectedSize(line.getSelectedSize());
+            orderItem.setSelectedColor(line.getSelectedColor());
+            orderItems.add(orderItem);
+            pricing.addLine(PricingContext.toCents(product.getPrice()),
+                    PricingContext.toCents(product.getOriginalPrice()), line.getQuantity());
+        }
+        PriceBreakdown totals = pricingEngine.price(pricing);
+        
+        decrementStock(user.getId(), request.getReservationId(), quantities);
+        
+        Order order = new Order(orderNumberGenerator.nextOrderNumber(), user, totals.getTotal());
+        order.setSubtotal(totals.getSubtotal());
+        order.setTaxAmount(totals.getTax());
+        order.setShippingAmount(totals.getShipping());
+        order.setDiscountAmount(totals.getDiscount());
+        order.setPaymentMethod(request.getPaymentMethod());
+        order.setShippingFirstName(request.getShippingFirstName());
+        order.setShippingLastName(request.getShippingLastName());
+        order.setShippingAddress(request.getShippingAddress());
+        order.setShippingCity(request.getShippingCity());
+        order.setShippingState(request.getShippingState());
+        order.setShippingZipCode(request.getShippingZipCode());
+        order.setShippingPhone(request.getShippingPhone());
+        order.setNotes(request.getNotes());
+        order = orderRepository.save(order);
+        
+        orderRepository.insertOrderItems(order.getId(), orderItems);
+        removeOrderedLinesAfterCommit(user.getId(), cartLines);
+        
+        return new OrderResponse(order, orderItems);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrdersByUser(Long userId) {
+        List<OrderResponse> responses = new ArrayList<>();
+        for (Order order : orderRepository.findByUserIdOrderByCreatedAtDesc(userId)) {
+            responses.add(new OrderResponse(order, order.getOrderItems()));
+        }
+        return responses;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> getOrderByNumber(String orderNumber, Long userId) {
+        return orderRepository.findByOrderNumberAndUserId(orderNumber, userId)
+                .map(order -> new OrderResponse(order, order.getOrderItems()));
+    }
+    
+    // The cart lives in memory, so only take the ordered lines out once the order is durable;
+    // lines added while the order was being placed stay in the cart
+    private void removeOrderedLinesAfterCommit(Long userId, List<CartLine> orderedLines) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cartStore.removeOrdered(userId, orderedLines);
+            }
+        });
+    }
+    
+    // Commit the checkout reservation; without one, reserve first so an unreserved
+    // checkout cannot take stock other shoppers hold
+    private void decrementStock(Long userId, String reservationId, Map<Long, Integer> quantities) {
+        if (reservationId == null) {
+            reservationId = reservationService.reserve(userId, quantities).getId();
+        } else {
+            StockReservation reservation = reservationService.getReservation(reservationId)
+                    .filter(r -> r.getUserId().equals(userId))
+                    .orElseThrow(() -> new RuntimeException("Reservation not found or expired"));
+            if (!reservation.getQuantities().equals(quantities)) {
+                throw new RuntimeException("Cart changed since stock was reserved");
+            }
+        }
+        reservationService.commit(reservationId);
+    }
+}
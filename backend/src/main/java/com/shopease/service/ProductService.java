@@ -1,62 +1,193 @@
 package com.shopease.service;
 
+import com.shopease.cache.CacheStats;
+import com.shopease.cache.CatalogVersions;
+import com.shopease.cache.LruTtlCache;
+import com.shopease.dto.CursorPage;
+import com.shopease.dto.FacetedProductPage;
+import com.shopease.dto.ProductCursor;
+import com.shopease.dto.ProductFilter;
+import com.shopease.dto.ProductSummary;
 import com.shopease.entity.Product;
+import com.shopease.event.ProductChangedEvent;
+import com.shopease.event.ProductChangedEvent.ChangeType;
 import com.shopease.repository.ProductRepository;
+import com.shopease.search.FacetResult;
+import com.shopease.search.ProductFacetIndex;
+import com.shopease.search.ProductSearchIndex;
+import com.shopease.search.SearchHit;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProductService {
     
+    private static final String ALL_CATEGORIES_KEY = "all";
+    
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private ProductFacetIndex facetIndex;
+    
+    @Autowired
+    private StockLedger stockLedger;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Value("${catalog.cache.max-entries:1000}")
+    private int cacheMaxEntries;
+    
+    @Value("${catalog.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+    
+    @Value("${catalog.page.max-size:100}")
+    private int maxPageSize;
+    
+    private LruTtlCache<Long, Product> productCache;
+    private LruTtlCache<PageKey, Slice<ProductSummary>> pageCache;
+    private LruTtlCache<Integer, List<ProductSummary>> featuredCache;
+    private LruTtlCache<String, List<String>> categoryCache;
+    
+    @PostConstruct
+    void initCaches() {
+        long ttlMillis = cacheTtlSeconds * 1000;
+        productCache = new LruTtlCache<>("products", cacheMaxEntries, ttlMillis);
+        pageCache = new LruTtlCache<>("product-pages", cacheMaxEntries, ttlMillis);
+        featuredCache = new LruTtlCache<>("featured-products", 32, ttlMillis);
+        categoryCache = new LruTtlCache<>("categories", 1, ttlMillis);
+    }
+    
     // Get all active products with pagination
-    public Page<Product> getAllProducts(Pageable pageable) {
-        return productRepository.findByIsActiveTrue(pageable);
+    public Slice<ProductSummary> getAllProducts(Pageable pageable) {
+        return pageCache.get(new PageKey(null, pageable), key -> productRepository.findSummaries(pageable));
     }
     
-    // Get product by ID
+    // Get product by ID (images joined, sizes, colors and specifications loaded alongside)
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return Optional.ofNullable(productCache.get(id, key -> productRepository.findDetailById(key).orElse(null)));
     }
     
-    // Search products
-    public Page<Product> searchProducts(String searchTerm, Pageable pageable) {
-        return productRepository.searchProducts(searchTerm, pageable);
+    // Search products: rank ids in the index, then hydrate only the requested page
+    public Page<ProductSummary> searchProducts(String searchTerm, Pageable pageable) {
+        List<Long> rankedIds = searchIndex.search(searchTerm);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        return new PageImpl<>(summariesInOrder(rankedIds.subList(from, to)), pageable, rankedIds.size());
+    }
+    
+    // Search products, keyset mode: the cursor holds the (score, id) of the last hit
+    public CursorPage<ProductSummary> searchProducts(String searchTerm, String cursor, int size) {
+        size = pageSize(size);
+        List<SearchHit> hits = searchIndex.searchHits(searchTerm);
+        int from = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            ProductCursor after = ProductCursor.decode(cursor);
+            if (!ProductCursor.RELEVANCE.equals(after.getSortField())) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            SearchHit last = new SearchHit(after.getLastId(), (Float) after.getLastValue());
+            from = firstHitAfter(hits, last);
+        }
+        int to = Math.min(from + size, hits.size());
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (SearchHit hit : hits.subList(from, to)) {
+            pageIds.add(hit.getProductId());
+        }
+        String nextCursor = null;
+        if (to < hits.size() && to > from) {
+            SearchHit last = hits.get(to - 1);
+            nextCursor = new ProductCursor(ProductCursor.RELEVANCE, true, last.getScore(), last.getProductId()).encode();
+        }
+        return new CursorPage<>(summariesInOrder(pageIds), nextCursor);
+    }
+    
+    // Keyset page of all active products ordered by (sortBy, id)
+    public CursorPage<ProductSummary> getAllProducts(String cursor, int size, String sortBy, boolean descending) {
+        return keysetPage(null, cursor, size, sortBy, descending);
+    }
+    
+    // Keyset page of a category ordered by (sortBy, id)
+    public CursorPage<ProductSummary> getProductsByCategory(String category, String cursor, int size,
+                                                           String sortBy, boolean descending) {
+        return keysetPage(category, cursor, size, sortBy, descending);
     }
     
     // Get products by category
-    public Page<Product> getProductsByCategory(String category, Pageable pageable) {
-        return productRepository.findByCategoryAndIsActiveTrue(category, pageable);
+    public Slice<ProductSummary> getProductsByCategory(String category, Pageable pageable) {
+        return pageCache.get(new PageKey(category, pageable),
+                key -> productRepository.findSummariesByCategory(category, pageable));
+    }
+    
+    // Combined facet filter with per-facet counts, answered from the bitmap index
+    public FacetedProductPage filterProducts(ProductFilter filter, int page, int size) {
+        FacetResult result = facetIndex.filter(filter);
+        List<Long> ids = result.getProductIds();
+        size = pageSize(size);
+        int from = (int) Math.min((long) Math.max(page, 0) * size, ids.size());
+        int to = Math.min(from + size, ids.size());
+        return new FacetedProductPage(summariesInOrder(ids.subList(from, to)), ids.size(),
+                result.getFacetCounts());
     }
     
     // Get products by price range
-    public List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return productRepository.findByPriceBetweenAndIsActiveTrue(minPrice, maxPrice);
+    public List<ProductSummary> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        return productRepository.findSummariesByPriceRange(minPrice, maxPrice);
     }
     
     // Get featured products (top rated)
-    public List<Product> getFeaturedProducts(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return productRepository.findFeaturedProducts(pageable);
+    public List<ProductSummary> getFeaturedProducts(int limit) {
+        return featuredCache.get(limit, key -> productRepository.findFeaturedSummaries(PageRequest.of(0, limit)));
     }
     
     // Get all categories
     public List<String> getAllCategories() {
-        return productRepository.findDistinctCategories();
+        return categoryCache.get(ALL_CATEGORIES_KEY, key -> productRepository.findDistinctCategories());
     }
     
     // Save product
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Set<String> categories = new HashSet<>();
+        if (product.getId() != null) {
+            productRepository.findCategoryById(product.getId()).ifPresent(categories::add);
+        }
+        Product saved = productRepository.save(product);
+        categories.add(saved.getCategory());
+        publishChange(saved.getId(), ChangeType.SAVED, categories);
+        return saved;
     }
     
     // Delete product (soft delete)
@@ -66,27 +197,53 @@ public class ProductService {
             Product p = product.get();
             p.setIsActive(false);
             productRepository.save(p);
+            publishChange(id, ChangeType.DELETED, Set.of(p.getCategory()));
         }
     }
     
-    // Update stock quantity
+    // Update stock quantity (single conditional UPDATE, so concurrent buyers cannot oversell)
     public boolean updateStock(Long productId, Integer quantity) {
-        Optional<Product> productOpt = productRepository.findById(productId);
-        if (productOpt.isPresent()) {
-            Product product = productOpt.get();
-            if (product.getStockQuantity() >= quantity) {
-                product.setStockQuantity(product.getStockQuantity() - quantity);
-                productRepository.save(product);
-                return true;
+        if (quantity == null || quantity <= 0) {
+            return false;
+        }
+        boolean updated = productRepository.decrementStock(productId, quantity, LocalDateTime.now()) > 0;
+        if (updated) {
+            publishChange(productId, ChangeType.STOCK, Collections.emptySet());
+        }
+        return updated;
+    }
+    
+    // Decrement stock for a whole cart in one round trip; reports success per product
+    public Map<Long, Boolean> updateStock(Map<Long, Integer> quantities) {
+        Map<Long, Integer> valid = new HashMap<>();
+        Map<Long, Boolean> results = new HashMap<>();
+        quantities.forEach((id, quantity) -> {
+            if (quantity != null && quantity > 0) {
+                valid.put(id, quantity);
+            } else {
+                results.put(id, false);
             }
+        });
+        if (!valid.isEmpty()) {
+            results.putAll(productRepository.decrementStockBatch(valid));
         }
-        return false;
+        results.forEach((id, updated) -> {
+            if (updated) {
+                publishChange(id, ChangeType.STOCK, Collections.emptySet());
+            }
+        });
+        return results;
     }
     
-    // Check if product is in stock
+    // Check if product is in stock (on hand minus reserved, from the in-memory ledger)
     public boolean isInStock(Long productId, Integer quantity) {
-        Optional<Product> product = productRepository.findById(productId);
-        return product.map(p -> p.getStockQuantity() >= quantity).orElse(false);
+        Integer available = stockLedger.getAvailable(productId);
+        return available != null && available >= quantity;
+    }
+    
+    // Get stock that is not held by a reservation
+    public Optional<Integer> getAvailableStock(Long productId) {
+        return Optional.ofNullable(stockLedger.getAvailable(productId));
     }
     
     // Get low stock products
@@ -101,7 +258,147 @@ public class ProductService {
             Product product = productOpt.get();
             product.setAverageRating(newRating);
             product.setReviewCount(reviewCount);
+            product.setRatingSum(Math.round(newRating * reviewCount));
             productRepository.save(product);
+            publishChange(productId, ChangeType.RATING, Set.of(product.getCategory()));
+        }
+    }
+    
+    // Fold one new review rating into the product aggregate, without reading reviews
+    public boolean addRating(Long productId, int rating) {
+        boolean updated = productRepository.addRating(productId, rating);
+        if (updated) {
+            publishChange(productId, ChangeType.RATING, Collections.emptySet());
+        }
+        return updated;
+    }
+    
+    // Replace one review's rating in the product aggregate, without reading reviews
+    public boolean changeRating(Long productId, int oldRating, int newRating) {
+        boolean updated = productRepository.changeRating(productId, oldRating, newRating);
+        if (updated) {
+            publishChange(productId, ChangeType.RATING, Collections.emptySet());
+        }
+        return updated;
+    }
+    
+    // Recompute the aggregates of a batch of products from their reviews; returns the corrected ids
+    public List<Long> repairRatings(List<Long> productIds) {
+        List<Long> repaired = productRepository.repairRatings(productIds);
+        repaired.forEach(id -> publishChange(id, ChangeType.RATING, Collections.emptySet()));
+        return repaired;
+    }
+    
+    // Cache counters for sizing
+    public List<CacheStats> getCacheStats() {
+        return Arrays.asList(productCache.stats(), pageCache.stats(),
+                featuredCache.stats(), categoryCache.stats());
+    }
+    
+    // Evict only the cache entries a product write can have changed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long id = event.getProductId();
+        if (event.getType() == ChangeType.STOCK || event.getType() == ChangeType.RATING) {
+            // Stock and rating writes go through JDBC, which Hibernate's second-level cache never sees.
+            // Evict it first so a reload cannot refill our cache from the stale copy
+            entityManagerFactory.getCache().evict(Product.class, id);
+        }
+        productCache.invalidate(id);
+        
+        switch (event.getType()) {
+            case SAVED, DELETED -> {
+                // Membership, ordering and categories may all have changed
+                pageCache.invalidateIf((key, page) -> key.category() == null
+                        || event.getCategories().contains(key.category()));
+                featuredCache.invalidateAll();
+                categoryCache.invalidateAll();
+            }
+            case STOCK -> {
+                pageCache.invalidateIf((key, page) -> containsProduct(page.getContent(), id));
+                featuredCache.invalidateIf((limit, products) -> containsProduct(products, id));
+            }
+            case RATING -> {
+                // JDBC writes never bump the query cache timestamps either
+                entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion("catalog.featured");
+                pageCache.invalidateIf((key, page) -> containsProduct(page.getContent(), id)
+                        || isSortedByRating(key.pageable()));
+                featuredCache.invalidateAll();
+            }
+        }
+        
+        // Only after eviction, so a new HTTP validator is never paired with cached old data
+        catalogVersions.onProductChanged(event.getType());
+    }
+    
+    private void publishChange(Long productId, ChangeType type, Set<String> categories) {
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, type, categories));
+    }
+    
+    // Fetch one extra row to learn whether there is a next page, without counting
+    private CursorPage<ProductSummary> keysetPage(String category, String cursor, int size,
+                                                  String sortBy, boolean descending) {
+        size = pageSize(size);
+        ProductCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            after = ProductCursor.decode(cursor);
+            sortBy = after.getSortField();
+            descending = after.isDescending();
+        }
+        List<ProductSummary> rows = productRepository.findSummariesAfter(category, sortBy, descending, after, size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextCursor = ProductCursor.after(sortBy, descending, rows.get(size - 1)).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+    
+    // At least one row, so a page can always produce its cursor; at most the configured maximum
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+    
+    // Load summaries for ranked ids and keep the ranking order
+    private List<ProductSummary> summariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductSummary> byId = new HashMap<>();
+        productRepository.findSummariesByIdIn(ids).forEach(p -> byId.put(p.getId(), p));
+        List<ProductSummary> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductSummary product = byId.get(id);
+            if (product != null) {
+                content.add(product);
+            }
+        }
+        return content;
+    }
+    
+    // Index of the first hit ranked after the given one (binary search)
+    private static int firstHitAfter(List<SearchHit> hits, SearchHit last) {
+        int low = 0;
+        int high = hits.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (SearchHit.RANKING.compare(hits.get(mid), last) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
         }
+        return low;
     }
+    
+    private static boolean containsProduct(List<ProductSummary> products, Long id) {
+        return products.stream().anyMatch(p -> id.equals(p.getId()));
+    }
+    
+    private static boolean isSortedByRating(Pageable pageable) {
+        return pageable.getSort().getOrderFor("averageRating") != null
+                || pageable.getSort().getOrderFor("reviewCount") != null;
+    }
+    
+    private record PageKey(String category, Pageable pageable) {}
 }
@@ -0,0 +1,131 @@
+package com.shopease.service;
+
+import com.shopease.dto.RatingSummary;
+import com.shopease.dto.ReviewCursor;
+import com.shopease.dto.ReviewPage;
+import com.shopease.dto.ReviewRequest;
+import com.shopease.dto.ReviewView;
+import com.shopease.entity.Review;
+import com.shopease.entity.User;
+import com.shopease.repository.OrderRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.ReviewRepository;
+import com.shopease.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ReviewService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Value("${reviews.rating-repair.batch-size:500}")
+    private int repairBatchSize;
+    
+    @Value("${reviews.page.max-size:50}")
+    private int maxPageSize;
+    
+    // Keyset page of a product's reviews, newest first; the first page carries the stored rating summary
+    public ReviewPage getReviews(Long productId, String cursor, int size, boolean verifiedOnly) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        ReviewCursor after = cursor == null || cursor.isEmpty() ? null : ReviewCursor.decode(cursor);
+        RatingSummary summary = null;
+        if (after == null) {
+            summary = productRepository.findRatingSummaryById(productId)
+                    .orElseThrow(() -> new RuntimeException("Product not found"));
+        }
+        
+        // Fetch one extra row to learn whether there is a next page, without counting
+        List<ReviewView> rows = reviewRepository.findViewsAfter(productId, verifiedOnly, after, limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = ReviewCursor.after(rows.get(limit - 1)).encode();
+        }
+        return new ReviewPage(rows, nextCursor, summary);
+    }
+    
+    /**
+     * Save the user's review of a product; its rating is folded into the
+     * product aggregate in the same transaction. A user has one review per
+     * product, so submitting again edits it and moves its rating instead of
+     * adding another. The unique (user_id, product_id) index settles two
+     * first submissions racing each other.
+     */
+    @Transactional
+    public ReviewView submitReview(Long productId, Long userId, ReviewRequest request) {
+        int rating = request.getRating();
+        if (rating < 1 || rating > 5) {
+            throw new RuntimeException("Rating must be between 1 and 5");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        Review review = reviewRepository.findForUpdate(userId, productId).orElse(null);
+        boolean applied;
+        if (review == null) {
+            applied = productService.addRating(productId, rating);
+            review = new Review(user, productRepository.getReferenceById(productId), rating, request.getComment());
+        } else {
+            applied = review.getRating() == rating || productService.changeRating(productId, review.getRating(), rating);
+            review.setRating(rating);
+            review.setComment(request.getComment());
+        }
+        if (!applied) {
+            throw new RuntimeException("Product not found");
+        }
+        
+        review.setIsVerifiedPurchase(orderRepository.existsPurchase(user.getId(), productId));
+        Review saved;
+        try {
+            saved = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Review already submitted, please try again");
+        }
+        return new ReviewView(saved.getId(), productId, user.getId(), user.getFirstName(), saved.getRating(),
+                saved.getComment(), saved.getIsVerifiedPurchase(), saved.getCreatedAt());
+    }
+    
+    // Drift repair: walk the catalog in id batches and recompute each aggregate from its reviews
+    @Scheduled(cron = "${reviews.rating-repair.cron:0 30 3 * * *}")
+    public void repairRatings() {
+        long afterId = 0;
+        int repaired = 0;
+        while (true) {
+            List<Long> ids = productRepository.findIdsAfter(afterId, PageRequest.of(0, repairBatchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            repaired += productService.repairRatings(ids).size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (repaired > 0) {
+            logger.info("Repaired rating aggregates of {} products", repaired);
+        }
+    }
+}
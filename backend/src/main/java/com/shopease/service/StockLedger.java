@@ -0,0 +1,108 @@
+package com.shopease.service;
+
+import com.shopease.event.ProductChangedEvent;
+import com.shopease.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of stock on hand and stock held by reservations.
+ * Each product has its own entry and monitor, so hot SKUs never contend
+ * with each other. On-hand figures are loaded lazily from the database and
+ * refreshed whenever a product write changes them.
+ */
+@Component
+public class StockLedger {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    // Stock that can still be reserved, or null if the product does not exist
+    public Integer getAvailable(Long productId) {
+        Entry entry = entry(productId);
+        return entry == null ? null : entry.available();
+    }
+    
+    // Hold stock for a reservation; false if not enough is available
+    public boolean hold(Long productId, int quantity) {
+        Entry entry = entry(productId);
+        return entry != null && entry.hold(quantity);
+    }
+    
+    public void release(Long productId, int quantity) {
+        Entry entry = entries.get(productId);
+        if (entry != null) {
+            entry.release(quantity);
+        }
+    }
+    
+    // Re-read on-hand stock after any write that may have changed it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refresh(event.getProductId());
+    }
+    
+    // Re-read on-hand stock of a tracked product from the database
+    public void refresh(Long productId) {
+        Entry entry = entries.get(productId);
+        if (entry == null) {
+            return;
+        }
+        Integer stock = productRepository.findStockQuantityById(productId).orElse(null);
+        if (stock == null) {
+            entries.remove(productId);
+        } else {
+            entry.setOnHand(stock);
+        }
+    }
+    
+    private Entry entry(Long productId) {
+        Entry entry = entries.get(productId);
+        if (entry != null) {
+            return entry;
+        }
+        // Load outside the map lock; a concurrent loader may win, which is harmless
+        Integer stock = productRepository.findStockQuantityById(productId).orElse(null);
+        if (stock == null) {
+            return null;
+        }
+        Entry loaded = new Entry(stock);
+        Entry existing = entries.putIfAbsent(productId, loaded);
+        return existing != null ? existing : loaded;
+    }
+    
+    private static final class Entry {
+        private int onHand;
+        private int held;
+        
+        private Entry(int onHand) {
+            this.onHand = onHand;
+        }
+        
+        private synchronized int available() {
+            return Math.max(0, onHand - held);
+        }
+        
+        private synchronized boolean hold(int quantity) {
+            if (onHand - held < quantity) {
+                return false;
+            }
+            held += quantity;
+            return true;
+        }
+        
+        private synchronized void release(int quantity) {
+            held = Math.max(0, held - quantity);
+        }
+        
+        private synchronized void setOnHand(int onHand) {
+            this.onHand = onHand;
+        }
+    }
+}
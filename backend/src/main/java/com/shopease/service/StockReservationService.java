@@ -0,0 +1,166 @@
+package com.shopease.service;
+
+import com.shopease.cart.CartLine;
+import com.shopease.cart.CartStore;
+import com.shopease.dto.StockReservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class StockReservationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+    
+    @Autowired
+    private StockLedger stockLedger;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CartStore cartStore;
+    
+    @Value("${stock.reservation.ttl-minutes:15}")
+    private long ttlMinutes;
+    
+    private final Map<String, StockReservation> reservations = new ConcurrentHashMap<>();
+    
+    // One active reservation per user; reserving again replaces it
+    private final Map<Long, String> reservationByUser = new ConcurrentHashMap<>();
+    
+    // Hold stock for everything currently in the user's cart
+    public StockReservation reserveCart(Long userId) {
+        List<CartLine> cartLines = cartStore.getLines(userId);
+        if (cartLines.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CartLine line : cartLines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return reserve(userId, quantities);
+    }
+    
+    public StockReservation reserve(Long userId, Map<Long, Integer> quantities) {
+        String previous = reservationByUser.get(userId);
+        if (previous != null) {
+            release(previous);
+        }
+        
+        // Hold in product id order; undo partial holds if any line falls short
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        List<Long> held = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : ordered.entrySet()) {
+            if (!stockLedger.hold(line.getKey(), line.getValue())) {
+                held.forEach(id -> stockLedger.release(id, ordered.get(id)));
+                throw new RuntimeException("Insufficient stock for product " + line.getKey());
+            }
+            held.add(line.getKey());
+        }
+        
+        StockReservation reservation = new StockReservation(UUID.randomUUID().toString(), userId, ordered,
+                Instant.now().plus(Duration.ofMinutes(ttlMinutes)));
+        reservations.put(reservation.getId(), reservation);
+        reservationByUser.put(userId, reservation.getId());
+        return reservation;
+    }
+    
+    public Optional<StockReservation> getReservation(String reservationId) {
+        return Optional.ofNullable(reservations.get(reservationId))
+                .filter(r -> !r.isExpired(Instant.now()));
+    }
+    
+    /**
+     * Turn the holds into real stock decrements as part of placing an order.
+     * Runs in the order's transaction: if any line is short it throws and the
+     * whole order, including the other lines' decrements, rolls back. The holds
+     * are dropped once the transaction completes either way.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    void commit(String reservationId) {
+        StockReservation reservation = take(reservationId).orElse(null);
+        if (reservation == null || reservation.isExpired(Instant.now())) {
+            if (reservation != null) {
+                reservation.getQuantities().forEach(stockLedger::release);
+            }
+            throw new RuntimeException("Reservation not found or expired");
+        }
+        
+        Map<Long, Boolean> results = productService.updateStock(reservation.getQuantities());
+        releaseAfterCompletion(reservation);
+        results.forEach((productId, updated) -> {
+            if (!updated) {
+                throw new RuntimeException("Insufficient stock for product " + productId);
+            }
+        });
+    }
+    
+    // Give the held stock back (order abandoned); only the user holding the reservation may release it
+    public boolean release(String reservationId, Long userId) {
+        StockReservation reservation = reservations.get(reservationId);
+        if (reservation == null || !reservation.getUserId().equals(userId)
+                || !reservations.remove(reservationId, reservation)) {
+            return false;
+        }
+        reservationByUser.remove(userId, reservationId);
+        reservation.getQuantities().forEach(stockLedger::release);
+        return true;
+    }
+    
+    // Release holds whose time is up
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-interval-ms:5000}")
+    public void releaseExpired() {
+        Instant now = Instant.now();
+        int released = 0;
+        for (StockReservation reservation : reservations.values()) {
+            if (reservation.isExpired(now) && release(reservation.getId())) {
+                released++;
+            }
+        }
+        if (released > 0) {
+            logger.debug("Released {} expired stock reservations", released);
+        }
+    }
+    
+    // Re-read on-hand stock before releasing the holds, so available stock never looks higher than it is
+    private void releaseAfterCompletion(StockReservation reservation) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                reservation.getQuantities().forEach((productId, quantity) -> {
+                    if (status == STATUS_COMMITTED) {
+                        stockLedger.refresh(productId);
+                    }
+                    stockLedger.release(productId, quantity);
+                });
+            }
+        });
+    }
+    
+    // Remove a reservation exactly once, even if commit, release and expiry race
+    private Optional<StockReservation> take(String reservationId) {
+        StockReservation reservation = reservations.remove(reservationId);
+        if (reservation != null) {
+            reservationByUser.remove(reservation.getUserId(), reservationId);
+        }
+        return Optional.ofNullable(reservation);
+    }
+}
@@ -0,0 +1,74 @@
+-- Product sizes, colors and specifications are ordered lists (@OrderColumn "sort_order").
+-- Databases baselined from ddl-auto=update can have these tables with neither an order
+-- column nor a key, so each one is rebuilt with its rows numbered 0..n-1 per product and
+-- keyed on (product_id, sort_order). Tables created by V1 already have the column; their
+-- existing order is kept, so the rebuild is safe there too. Without a column, rows keep
+-- the order MySQL returns them in.
+
+SET @has_order = (SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+                  AND table_name = 'product_sizes' AND column_name = 'sort_order');
+
+CREATE TABLE product_sizes_ordered (
+    product_id BIGINT NOT NULL,
+    sort_order INTEGER NOT NULL,
+    size       VARCHAR(255),
+    PRIMARY KEY (product_id, sort_order)
+) ENGINE = InnoDB;
+
+SET @copy = CONCAT('INSERT INTO product_sizes_ordered (product_id, sort_order, size) ',
+                   'SELECT product_id, ROW_NUMBER() OVER (PARTITION BY product_id',
+                   IF(@has_order > 0, ' ORDER BY sort_order', ''), ') - 1, size FROM product_sizes');
+PREPARE copy_rows FROM @copy;
+EXECUTE copy_rows;
+DEALLOCATE PREPARE copy_rows;
+
+DROP TABLE product_sizes;
+RENAME TABLE product_sizes_ordered TO product_sizes;
+ALTER TABLE product_sizes
+    ADD CONSTRAINT fk_product_sizes_product FOREIGN KEY (product_id) REFERENCES products (id);
+
+SET @has_order = (SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+                  AND table_name = 'product_colors' AND column_name = 'sort_order');
+
+CREATE TABLE product_colors_ordered (
+    product_id BIGINT NOT NULL,
+    sort_order INTEGER NOT NULL,
+    color      VARCHAR(255),
+    PRIMARY KEY (product_id, sort_order)
+) ENGINE = InnoDB;
+
+SET @copy = CONCAT('INSERT INTO product_colors_ordered (product_id, sort_order, color) ',
+                   'SELECT product_id, ROW_NUMBER() OVER (PARTITION BY product_id',
+                   IF(@has_order > 0, ' ORDER BY sort_order', ''), ') - 1, color FROM product_colors');
+PREPARE copy_rows FROM @copy;
+EXECUTE copy_rows;
+DEALLOCATE PREPARE copy_rows;
+
+DROP TABLE product_colors;
+RENAME TABLE product_colors_ordered TO product_colors;
+ALTER TABLE product_colors
+    ADD CONSTRAINT fk_product_colors_product FOREIGN KEY (product_id) REFERENCES products (id);
+
+SET @has_order = (SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+                  AND table_name = 'product_specifications' AND column_name = 'sort_order');
+
+CREATE TABLE product_specifications_ordered (
+    product_id BIGINT NOT NULL,
+    sort_order INTEGER NOT NULL,
+    spec_key   VARCHAR(255),
+    spec_value VARCHAR(255),
+    PRIMARY KEY (product_id, sort_order)
+) ENGINE = InnoDB;
+
+SET @copy = CONCAT('INSERT INTO product_specifications_ordered (product_id, sort_order, spec_key, spec_value) ',
+                   'SELECT product_id, ROW_NUMBER() OVER (PARTITION BY product_id ORDER BY ',
+                   IF(@has_order > 0, 'sort_order', 'spec_key'), ') - 1, spec_key, spec_value ',
+                   'FROM product_specifications');
+PREPARE copy_rows FROM @copy;
+EXECUTE copy_rows;
+DEALLOCATE PREPARE copy_rows;
+
+DROP TABLE product_specifications;
+RENAME TABLE product_specifications_ordered TO product_specifications;
+ALTER TABLE product_specifications
+    ADD CONSTRAINT fk_product_specifications_product FOREIGN KEY (product_id) REFERENCES products (id);
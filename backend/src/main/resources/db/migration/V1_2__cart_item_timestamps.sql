@@ -0,0 +1,19 @@
+-- Cart lines carry created/updated times for abandoned-cart cleanup and ordering.
+-- Databases baselined from ddl-auto=update may lack the columns; V1 creates them
+-- nullable. Either way, rows without times are stamped with the migration time and
+-- both columns become NOT NULL.
+
+SET @has_times = (SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE()
+                  AND table_name = 'cart_items' AND column_name = 'created_at');
+SET @add_times = IF(@has_times > 0, 'DO 0',
+                    'ALTER TABLE cart_items ADD COLUMN created_at DATETIME(6), ADD COLUMN updated_at DATETIME(6)');
+PREPARE add_times FROM @add_times;
+EXECUTE add_times;
+DEALLOCATE PREPARE add_times;
+
+UPDATE cart_items SET created_at = COALESCE(created_at, NOW(6)), updated_at = COALESCE(updated_at, created_at, NOW(6))
+WHERE created_at IS NULL OR updated_at IS NULL;
+
+ALTER TABLE cart_items
+    MODIFY created_at DATETIME(6) NOT NULL,
+    MODIFY updated_at DATETIME(6) NOT NULL;
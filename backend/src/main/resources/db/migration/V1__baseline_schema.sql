@@ -0,0 +1,168 @@
+-- Baseline: the schema as Hibernate generated it under ddl-auto=update.
+-- Databases created that way are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    phone_number  VARCHAR(255),
+    date_of_birth DATETIME(6),
+    role          ENUM ('CUSTOMER','ADMIN') NOT NULL,
+    is_active     BIT,
+    created_at    DATETIME(6) NOT NULL,
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE addresses (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT NOT NULL,
+    type         ENUM ('HOME','WORK','OTHER') NOT NULL,
+    first_name   VARCHAR(255) NOT NULL,
+    last_name    VARCHAR(255) NOT NULL,
+    address      VARCHAR(255) NOT NULL,
+    city         VARCHAR(255) NOT NULL,
+    state        VARCHAR(255) NOT NULL,
+    zip_code     VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    is_default   BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_addresses_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE products (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255) NOT NULL,
+    description    TEXT,
+    price          DECIMAL(10,2) NOT NULL,
+    original_price DECIMAL(10,2),
+    stock_quantity INTEGER NOT NULL,
+    category       VARCHAR(255) NOT NULL,
+    brand          VARCHAR(255),
+    sku            VARCHAR(255),
+    is_active      BIT,
+    average_rating FLOAT(53),
+    review_count   INTEGER,
+    created_at     DATETIME(6) NOT NULL,
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_sizes (
+    product_id BIGINT NOT NULL,
+    sort_order INTEGER NOT NULL,
+    size       VARCHAR(255),
+    PRIMARY KEY (product_id, sort_order),
+    CONSTRAINT fk_product_sizes_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_colors (
+    product_id BIGINT NOT NULL,
+    sort_order INTEGER NOT NULL,
+    color      VARCHAR(255),
+    PRIMARY KEY (product_id, sort_order),
+    CONSTRAINT fk_product_colors_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_specifications (
+    product_id BIGINT NOT NULL,
+    sort_order INTEGER NOT NULL,
+    spec_key   VARCHAR(255),
+    spec_value VARCHAR(255),
+    PRIMARY KEY (product_id, sort_order),
+    CONSTRAINT fk_product_specifications_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_images (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    image_url  VARCHAR(255) NOT NULL,
+    alt_text   VARCHAR(255),
+    is_primary BIT,
+    sort_order INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_product_images_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reviews (
+    id                   BIGINT NOT NULL AUTO_INCREMENT,
+    user_id              BIGINT NOT NULL,
+    product_id           BIGINT NOT NULL,
+    rating               INTEGER NOT NULL,
+    comment              TEXT,
+    is_verified_purchase BIT,
+    created_at           DATETIME(6) NOT NULL,
+    updated_at           DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reviews_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart_items (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    user_id        BIGINT NOT NULL,
+    product_id     BIGINT NOT NULL,
+    quantity       INTEGER NOT NULL,
+    selected_size  VARCHAR(255),
+    selected_color VARCHAR(255),
+    created_at     DATETIME(6),
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_cart_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE wishlist_items (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_wishlist_items_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_wishlist_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    order_number        VARCHAR(255) NOT NULL,
+    user_id             BIGINT NOT NULL,
+    status              ENUM ('PENDING','CONFIRMED','PROCESSING','SHIPPED','DELIVERED','CANCELLED','RETURNED') NOT NULL,
+    total_amount        DECIMAL(10,2) NOT NULL,
+    subtotal            DECIMAL(10,2),
+    tax_amount          DECIMAL(10,2),
+    shipping_amount     DECIMAL(10,2),
+    discount_amount     DECIMAL(10,2),
+    payment_method      ENUM ('CREDIT_CARD','DEBIT_CARD','PAYPAL','CASH_ON_DELIVERY','BANK_TRANSFER'),
+    payment_status      ENUM ('PENDING','PAID','FAILED','REFUNDED'),
+    shipping_first_name VARCHAR(255),
+    shipping_last_name  VARCHAR(255),
+    shipping_address    VARCHAR(255),
+    shipping_city       VARCHAR(255),
+    shipping_state      VARCHAR(255),
+    shipping_zip_code   VARCHAR(255),
+    shipping_phone      VARCHAR(255),
+    notes               TEXT,
+    created_at          DATETIME(6) NOT NULL,
+    updated_at          DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_items (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    order_id       BIGINT NOT NULL,
+    product_id     BIGINT NOT NULL,
+    quantity       INTEGER NOT NULL,
+    price          DECIMAL(10,2) NOT NULL,
+    product_name   VARCHAR(255),
+    product_image  VARCHAR(255),
+    selected_size  VARCHAR(255),
+    selected_color VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
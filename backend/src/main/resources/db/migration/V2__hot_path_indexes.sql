@@ -0,0 +1,17 @@
+-- Composite indexes for the catalog listing and cart queries.
+-- Each leads with the equality column so the filter and the sort share the index.
+
+-- Category listing: WHERE is_active AND category = ?
+CREATE INDEX idx_products_active_category ON products (is_active, category);
+
+-- Featured: WHERE is_active ORDER BY average_rating DESC, review_count DESC
+CREATE INDEX idx_products_active_rating ON products (is_active, average_rating, review_count);
+
+-- Price range: WHERE is_active AND price BETWEEN ? AND ?
+CREATE INDEX idx_products_active_price ON products (is_active, price);
+
+-- Cart line lookup and merge by (user, product, size, color); also serves user_id deletes
+CREATE INDEX idx_cart_items_user_item ON cart_items (user_id, product_id, selected_size, selected_color);
+
+-- Per-user cart loads and deletes, and age-ordered scans of one user's lines
+CREATE INDEX idx_cart_items_user_created ON cart_items (user_id, created_at);
@@ -0,0 +1,27 @@
+-- Sequence tables for the pooled-ids profile (MySQL has no sequences, so
+-- Hibernate emulates each one with a single-row next_val table).
+-- Seeded above the ids present when this migration runs. Rows inserted later
+-- with IDENTITY do not advance them, so PooledIdSequenceReseeder moves each
+-- table past MAX(id) again whenever the app starts with the profile active.
+-- Unused unless the profile is active.
+
+CREATE TABLE user_id_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO user_id_seq SELECT COALESCE(MAX(id), 0) + 1 FROM users;
+
+CREATE TABLE product_id_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO product_id_seq SELECT COALESCE(MAX(id), 0) + 1 FROM products;
+
+CREATE TABLE product_image_id_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO product_image_id_seq SELECT COALESCE(MAX(id), 0) + 1 FROM product_images;
+
+CREATE TABLE order_id_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO order_id_seq SELECT COALESCE(MAX(id), 0) + 1 FROM orders;
+
+CREATE TABLE review_id_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO review_id_seq SELECT COALESCE(MAX(id), 0) + 1 FROM reviews;
+
+CREATE TABLE address_id_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO address_id_seq SELECT COALESCE(MAX(id), 0) + 1 FROM addresses;
+
+CREATE TABLE wishlist_item_id_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO wishlist_item_id_seq SELECT COALESCE(MAX(id), 0) + 1 FROM wishlist_items;
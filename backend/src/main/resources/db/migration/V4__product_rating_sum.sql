@@ -0,0 +1,8 @@
+-- Running rating total, so a new review updates the aggregate without reading reviews.
+-- Existing rows are seeded from their current average; the repair job reconciles them with reviews.
+
+UPDATE products SET review_count = 0 WHERE review_count IS NULL;
+ALTER TABLE products MODIFY review_count INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE products ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+UPDATE products SET rating_sum = ROUND(COALESCE(average_rating, 0) * review_count);
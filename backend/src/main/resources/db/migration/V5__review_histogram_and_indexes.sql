@@ -0,0 +1,23 @@
+-- Star histogram stored with the rating aggregate, and keyset indexes for review listings.
+
+ALTER TABLE products
+    ADD COLUMN rating_1_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_2_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_3_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_4_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN rating_5_count INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from existing reviews; the rating repair job keeps them in line afterwards
+UPDATE products p
+    JOIN (SELECT product_id,
+                 SUM(rating = 1) AS c1, SUM(rating = 2) AS c2, SUM(rating = 3) AS c3,
+                 SUM(rating = 4) AS c4, SUM(rating = 5) AS c5
+          FROM reviews GROUP BY product_id) r ON r.product_id = p.id
+SET p.rating_1_count = r.c1, p.rating_2_count = r.c2, p.rating_3_count = r.c3,
+    p.rating_4_count = r.c4, p.rating_5_count = r.c5;
+
+-- Newest-first listing of a product's reviews: WHERE product_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_reviews_product_created ON reviews (product_id, created_at, id);
+
+-- Same listing restricted to verified purchases
+CREATE INDEX idx_reviews_product_verified ON reviews (product_id, is_verified_purchase, created_at, id);
@@ -0,0 +1,17 @@
+-- One review per (user, product): a second submission updates the first.
+-- Earlier duplicates are dropped, keeping each user's newest review of a product,
+-- and the rating aggregates are recomputed from the reviews that remain.
+
+DELETE r FROM reviews r
+    JOIN reviews newer ON newer.user_id = r.user_id AND newer.product_id = r.product_id AND newer.id > r.id;
+
+CREATE UNIQUE INDEX uk_reviews_user_product ON reviews (user_id, product_id);
+
+UPDATE products p
+    JOIN (SELECT product_id, SUM(rating) AS total, COUNT(*) AS reviews,
+                 SUM(rating = 1) AS c1, SUM(rating = 2) AS c2, SUM(rating = 3) AS c3,
+                 SUM(rating = 4) AS c4, SUM(rating = 5) AS c5
+          FROM reviews GROUP BY product_id) r ON r.product_id = p.id
+SET p.rating_sum = r.total, p.review_count = r.reviews, p.average_rating = r.total / r.reviews,
+    p.rating_1_count = r.c1, p.rating_2_count = r.c2, p.rating_3_count = r.c3,
+    p.rating_4_count = r.c4, p.rating_5_count = r.c5;
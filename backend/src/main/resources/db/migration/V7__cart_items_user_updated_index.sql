@@ -0,0 +1,8 @@
+-- Replace the (user_id, created_at) cart index, which no query uses, with (user_id, updated_at).
+-- The abandoned-cart scan (GROUP BY user_id HAVING MAX(updated_at) < ?) reads it in
+-- (user_id, updated_at) order without touching the table. Per-user cart loads and deletes
+-- (WHERE user_id = ?) seek on either cart index; a cart's few lines are sorted by id after.
+
+DROP INDEX idx_cart_items_user_created ON cart_items;
+
+CREATE INDEX idx_cart_items_user_updated ON cart_items (user_id, updated_at);
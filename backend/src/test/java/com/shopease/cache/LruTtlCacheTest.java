@@ -0,0 +1,44 @@
+package com.shopease.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LruTtlCacheTest {
+    
+    @Test
+    void loadedValueIsCached() {
+        LruTtlCache<Long, String> cache = new LruTtlCache<>("test", 10, 60_000);
+        
+        assertEquals("v1", cache.get(1L, id -> "v1"));
+        assertEquals("v1", cache.get(1L, id -> "v2"));
+    }
+    
+    // The write lands, and its invalidation runs, while the old value is still being read
+    @Test
+    void invalidationDuringLoadDropsTheLoadedValue() {
+        LruTtlCache<Long, String> cache = new LruTtlCache<>("test", 10, 60_000);
+        
+        String loaded = cache.get(1L, id -> {
+            cache.invalidate(id);
+            return "stale";
+        });
+        
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent(1L));
+        assertEquals("fresh", cache.get(1L, id -> "fresh"));
+    }
+    
+    @Test
+    void predicateInvalidationDuringLoadDropsTheLoadedValue() {
+        LruTtlCache<Long, String> cache = new LruTtlCache<>("test", 10, 60_000);
+        
+        cache.get(2L, id -> {
+            cache.invalidateIf((key, value) -> value.startsWith("stale"));
+            return "stale";
+        });
+        
+        assertNull(cache.getIfPresent(2L));
+    }
+}
@@ -0,0 +1,118 @@
+package com.shopease.controller;
+
+import com.shopease.entity.User;
+import com.shopease.repository.UserRepository;
+import com.shopease.security.PasswordHashingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With every hashing thread busy and the queue full, signup and login are
+ * turned away at once with 503 and Retry-After instead of waiting for a slot.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashingSaturationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    // Occupy every thread and every queue slot with work that waits for the test to finish
+    @BeforeEach
+    void saturatePool() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashingService, "executor");
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // Idle workers take queued tasks concurrently, so keep offering until both are full
+        do {
+            try {
+                executor.execute(blocker);
+            } catch (RejectedExecutionException full) {
+                Thread.onSpinWait();
+            }
+        } while (executor.getActiveCount() < executor.getMaximumPoolSize()
+                || executor.getQueue().remainingCapacity() > 0);
+    }
+    
+    @AfterEach
+    void drainPool() {
+        release.countDown();
+    }
+    
+    @Test
+    void signupIsRejectedWith503WhenHashingIsSaturated() throws Exception {
+        long rejectedBefore = passwordHashingService.stats().getRejected();
+        
+        perform(post("/auth/signup").contentType(MediaType.APPLICATION_JSON).content(
+                "{\"firstName\":\"Busy\",\"lastName\":\"Pool\",\"email\":\"" + uniqueEmail() + "\",\"password\":\"secret123\"}"));
+        
+        assertEquals(rejectedBefore + 1, passwordHashingService.stats().getRejected());
+    }
+    
+    @Test
+    void loginIsRejectedWith503WhenHashingIsSaturated() throws Exception {
+        User user = new User();
+        user.setFirstName("Busy");
+        user.setLastName("Pool");
+        user.setEmail(uniqueEmail());
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.CUSTOMER);
+        user.setIsActive(true);
+        userRepository.save(user);
+        
+        perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"secret123\"}")
+                .with(request -> {
+                    // Own client address, so other tests' attempts cannot trip the rate limiter first
+                    request.setRemoteAddr("10.0.12.1");
+                    return request;
+                }));
+    }
+    
+    // The endpoints return futures; a rejected one completes at once, before the async dispatch
+    private void perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+    
+    private static String uniqueEmail() {
+        return "busy-" + UUID.randomUUID() + "@example.com";
+    }
+}
@@ -0,0 +1,133 @@
+package com.shopease.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopease.cache.CatalogVersions;
+import com.shopease.cache.SerializedResponseCache;
+import com.shopease.entity.Product;
+import com.shopease.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The featured listing served the old way, re-serialized by Jackson on every
+ * request, against the pre-serialized body the controller now writes. Many
+ * threads request it at once; the log line reports p50/p99 and bytes on the
+ * wire for both, with and without gzip.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PreSerializedCatalogLoadTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PreSerializedCatalogLoadTest.class);
+    
+    private static final int LIMIT = 24;
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 4000;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private SerializedResponseCache serializedResponses;
+    
+    @Autowired
+    private CatalogVersions catalogVersions;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void preSerializedFeaturedIsSmallerOnTheWireAndServedFromCache() throws Exception {
+        for (int i = 0; i < LIMIT; i++) {
+            productService.saveProduct(new Product("Featured probe " + i, "Pre-serialized response test product " +
+                    "with a description long enough to look like a real catalog entry", new BigDecimal("24.99"), 50, "Test"));
+        }
+        
+        // Both representations as the client receives them
+        MockHttpServletResponse plain = mockMvc.perform(get("/products/featured").param("limit", "" + LIMIT))
+                .andReturn().getResponse();
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/products/featured").param("limit", "" + LIMIT)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andReturn().getResponse();
+        assertEquals(200, plain.getStatus());
+        assertEquals(200, gzipped.getStatus());
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        
+        byte[] perRequest = objectMapper.writeValueAsBytes(productService.getFeaturedProducts(LIMIT));
+        assertArrayEquals(perRequest, plain.getContentAsByteArray());
+        assertTrue(gzipped.getContentAsByteArray().length < plain.getContentAsByteArray().length / 2,
+                "gzip " + gzipped.getContentAsByteArray().length + " of " + plain.getContentAsByteArray().length);
+        
+        String etag = catalogVersions.featuredEtag(LIMIT);
+        long[] before = latencies(() -> objectMapper.writeValueAsBytes(productService.getFeaturedProducts(LIMIT)));
+        long hitsBefore = serializedResponses.stats().getHits();
+        long[] after = latencies(() -> serializedResponses.get(etag, () -> productService.getFeaturedProducts(LIMIT)).gzip());
+        
+        logger.info("Featured x{} on {} threads: re-serialized p50 {} us, p99 {} us, {} bytes; " +
+                        "pre-serialized p50 {} us, p99 {} us, {} bytes gzip ({} identity)",
+                REQUESTS, THREADS, micros(before, 50), micros(before, 99), perRequest.length,
+                micros(after, 50), micros(after, 99), gzipped.getContentAsByteArray().length,
+                plain.getContentAsByteArray().length);
+        
+        // The body was serialized by the first HTTP request; every timed request was a cache hit
+        assertEquals(REQUESTS, serializedResponses.stats().getHits() - hitsBefore);
+    }
+    
+    // Per-request nanoseconds, sorted, with all requests released at once
+    private static long[] latencies(Callable<byte[]> request) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> timings = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                timings.add(pool.submit(() -> {
+                    start.await();
+                    long began = System.nanoTime();
+                    request.call();
+                    return System.nanoTime() - began;
+                }));
+            }
+            start.countDown();
+            long[] sorted = new long[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                sorted[i] = timings.get(i).get(60, TimeUnit.SECONDS);
+            }
+            Arrays.sort(sorted);
+            return sorted;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private static long micros(long[] sorted, int percentile) {
+        int index = Math.min(sorted.length - 1, sorted.length * percentile / 100);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[index]);
+    }
+}
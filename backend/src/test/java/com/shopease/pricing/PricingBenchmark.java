@@ -0,0 +1,113 @@
+package com.shopease.pricing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices the same cart with PricingEngine (long cents) and with the
+ * BigDecimal chain it replaced: same rules, same rounding, so the results
+ * are equal and only the arithmetic differs. The GC profiler reports the
+ * bytes allocated per cart (gc.alloc.rate.norm) next to the time.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.shopease.pricing.PricingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+    
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.08");
+    private static final BigDecimal FLAT_SHIPPING = new BigDecimal("9.99");
+    private static final BigDecimal FREE_SHIPPING_THRESHOLD = new BigDecimal("50.00");
+    
+    @Param({"3", "30"})
+    private int lines;
+    
+    private BigDecimal[] prices;
+    private BigDecimal[] originalPrices;
+    private int[] quantities;
+    private PricingEngine engine;
+    
+    @Setup
+    public void setUp() {
+        prices = new BigDecimal[lines];
+        originalPrices = new BigDecimal[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            prices[i] = BigDecimal.valueOf(499 + i * 137L, 2);
+            originalPrices[i] = i % 3 == 0 ? BigDecimal.valueOf(699 + i * 137L, 2) : null;
+            quantities[i] = 1 + i % 4;
+        }
+        
+        FlatRateTaxRule tax = new FlatRateTaxRule();
+        ReflectionTestUtils.setField(tax, "rateBasisPoints", 800L);
+        ThresholdShippingRule shipping = new ThresholdShippingRule();
+        ReflectionTestUtils.setField(shipping, "flatCents", 999L);
+        ReflectionTestUtils.setField(shipping, "freeThresholdCents", 5000L);
+        engine = new PricingEngine();
+        ReflectionTestUtils.setField(engine, "taxRule", tax);
+        ReflectionTestUtils.setField(engine, "shippingRule", shipping);
+        ReflectionTestUtils.setField(engine, "promotionRules", List.<PromotionRule>of(new CouponPromotionRule()));
+    }
+    
+    @Benchmark
+    public PriceBreakdown longCents() {
+        PricingContext context = new PricingContext("SAVE10");
+        for (int i = 0; i < lines; i++) {
+            context.addLine(PricingContext.toCents(prices[i]), PricingContext.toCents(originalPrices[i]), quantities[i]);
+        }
+        return engine.price(context);
+    }
+    
+    // One BigDecimal per multiply, add, compare and rounding step
+    @Benchmark
+    public void bigDecimalChain(Blackhole blackhole) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal originalSubtotal = BigDecimal.ZERO;
+        int itemCount = 0;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal quantity = BigDecimal.valueOf(quantities[i]);
+            subtotal = subtotal.add(prices[i].multiply(quantity));
+            BigDecimal original = originalPrices[i] != null ? originalPrices[i].max(prices[i]) : prices[i];
+            originalSubtotal = originalSubtotal.add(original.multiply(quantity));
+            itemCount += quantities[i];
+        }
+        BigDecimal shipping = itemCount == 0 || subtotal.compareTo(FREE_SHIPPING_THRESHOLD) >= 0
+                ? BigDecimal.ZERO : FLAT_SHIPPING;
+        BigDecimal discount = subtotal.multiply(BigDecimal.TEN).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        BigDecimal tax = subtotal.subtract(discount).multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        blackhole.consume(originalSubtotal.subtract(subtotal));
+        blackhole.consume(subtotal.subtract(discount).add(shipping).add(tax));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PricingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,34 @@
+package com.shopease.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PricingContextTest {
+    
+    @Test
+    void toCentsReadsTwoDecimalPricesDirectly() {
+        assertEquals(1999, PricingContext.toCents(new BigDecimal("19.99")));
+        assertEquals(-5, PricingContext.toCents(new BigDecimal("-0.05")));
+        assertEquals(0, PricingContext.toCents(null));
+    }
+    
+    @Test
+    void toCentsRescalesOtherScalesHalfUp() {
+        assertEquals(2000, PricingContext.toCents(new BigDecimal("20")));
+        assertEquals(1250, PricingContext.toCents(new BigDecimal("12.5")));
+        assertEquals(1000, PricingContext.toCents(new BigDecimal("9.995")));
+        assertEquals(999, PricingContext.toCents(new BigDecimal("9.9949")));
+    }
+    
+    @Test
+    void itemCountOverflowIsRejected() {
+        PricingContext context = new PricingContext(null);
+        context.addLine(0, 0, Integer.MAX_VALUE);
+        
+        assertThrows(ArithmeticException.class, () -> context.addLine(0, 0, 1));
+    }
+}
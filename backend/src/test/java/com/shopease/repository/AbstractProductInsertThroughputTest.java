@@ -0,0 +1,83 @@
+package com.shopease.repository;
+
+import com.shopease.entity.Product;
+import com.shopease.entity.ProductImage;
+import com.shopease.entity.ProductSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a catalog of products with images and specifications in one
+ * transaction, the way DataInitializer and bulk imports do, and reports rows
+ * per second and JDBC statements prepared. Subclasses run it under IDENTITY
+ * and under pooled-sequence ids; comparing their log lines gives the
+ * before/after throughput, and each asserts the statement count its id
+ * strategy allows.
+ */
+abstract class AbstractProductInsertThroughputTest {
+    
+    static final int PRODUCTS = 500;
+    static final int IMAGES_PER_PRODUCT = 2;
+    static final int SPECIFICATIONS_PER_PRODUCT = 3;
+    static final int ROWS = PRODUCTS * (1 + IMAGES_PER_PRODUCT + SPECIFICATIONS_PER_PRODUCT);
+    
+    private static final Logger logger = LoggerFactory.getLogger(AbstractProductInsertThroughputTest.class);
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void bulkProductInsert() {
+        // Warm up mappings, generators and the connection pool so the timed run measures inserts only
+        insertCatalog("Warm-up", 50);
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        long began = System.nanoTime();
+        insertCatalog("Throughput", PRODUCTS);
+        long elapsedNanos = System.nanoTime() - began;
+        long statements = statistics.getPrepareStatementCount() - before;
+        
+        logger.info("{} ids: {} rows ({} products) in {} ms, {} rows/s, {} statements",
+                idStrategy(), ROWS, PRODUCTS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                ROWS * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsedNanos), statements);
+        assertStatements(statements);
+    }
+    
+    abstract String idStrategy();
+    
+    abstract void assertStatements(long statements);
+    
+    private void insertCatalog(String label, int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product(label + " product " + i, "Insert throughput test product",
+                    new BigDecimal("12.50"), 10, "Throughput");
+            for (int s = 0; s < SPECIFICATIONS_PER_PRODUCT; s++) {
+                product.getSpecifications().add(new ProductSpecification("Spec " + s, "Value " + s));
+            }
+            for (int m = 0; m < IMAGES_PER_PRODUCT; m++) {
+                product.addImage(new ProductImage("https://example.com/" + i + "-" + m + ".jpg", label, m == 0));
+            }
+            products.add(product);
+        }
+        transactionTemplate.executeWithoutResult(status -> productRepository.saveAll(products));
+    }
+}
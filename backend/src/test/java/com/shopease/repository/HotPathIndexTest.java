@@ -0,0 +1,191 @@
+package com.shopease.repository;
+
+import com.shopease.cart.CartLine;
+import com.shopease.entity.Product;
+import com.shopease.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every ProductRepository and CartRepository query on a request or cleanup
+ * path can be answered through an index: the composite indexes declared on
+ * the entities (created on MySQL by V2 and V7) or the primary key. Each test
+ * explains the SQL shape its repository method generates.
+ *
+ * H2 builds the same indexes from the mappings, but its planner is not
+ * MySQL's: this shows that each query's predicates and sort can be served by
+ * an index that exists, not which index MySQL will pick. Where H2 has two
+ * equally good candidates, the check accepts either.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HotPathIndexTest {
+    
+    private static final int PRODUCTS = 200;
+    private static final int CARTS = 40;
+    private static final int LINES_PER_CART = 5;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // Enough products across categories and prices, and enough carts, that a scan is never the cheap option
+    @BeforeEach
+    void seed() {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE category = 'Index probe 0'", Integer.class);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product("Index probe " + i, "Query plan test product",
+                    new BigDecimal(1 + i % 50), 10, "Index probe " + i % 10);
+            product.setIsActive(i % 4 != 0);
+            products.add(product);
+        }
+        products = productRepository.saveAll(products);
+        
+        Map<Long, List<CartLine>> carts = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        long lineId = 1;
+        for (int c = 0; c < CARTS; c++) {
+            Long userId = userRepository.save(newUser()).getId();
+            List<CartLine> lines = new ArrayList<>(LINES_PER_CART);
+            for (int i = 0; i < LINES_PER_CART; i++) {
+                LocalDateTime touched = now.minusDays(c);
+                lines.add(new CartLine(lineId++, userId, products.get((c + i) % PRODUCTS).getId(), 1,
+                        "M", null, touched, touched));
+            }
+            carts.put(userId, lines);
+        }
+        cartRepository.replaceCarts(carts);
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    // ProductRepository.findSummariesByCategory
+    @Test
+    void categoryListingUsesActiveCategoryIndex() {
+        assertUsesIndex("idx_products_active_category",
+                "SELECT id, name, price FROM products WHERE is_active = TRUE AND category = 'Index probe 3' " +
+                "ORDER BY id LIMIT 20");
+    }
+    
+    // ProductRepository.findSummariesByPriceRange
+    @Test
+    void priceRangeUsesActivePriceIndex() {
+        assertUsesIndex("idx_products_active_price",
+                "SELECT id, name, price FROM products WHERE is_active = TRUE AND price BETWEEN 10 AND 20");
+    }
+    
+    // ProductRepository.findFeaturedSummaries. MySQL reads idx_products_active_rating backwards for the
+    // DESC sort; H2 cannot scan an index in reverse, so only the is_active seek is checked here
+    @Test
+    void featuredListingSeeksOnActiveIndex() {
+        assertUsesIndex("idx_products_active_",
+                "SELECT id, name, price FROM products WHERE is_active = TRUE " +
+                "ORDER BY average_rating DESC, review_count DESC LIMIT 8");
+    }
+    
+    // ProductRepositoryImpl.findSummariesAfter, keyset page within a category
+    @Test
+    void categoryKeysetPageUsesActiveCategoryIndex() {
+        assertUsesIndex("idx_products_active_category",
+                "SELECT id, name, price FROM products WHERE is_active = TRUE AND category = 'Index probe 3' " +
+                "AND (price > 5 OR (price = 5 AND id > 10)) ORDER BY price, id LIMIT 20");
+    }
+    
+    // ProductRepository.findSummariesByIdIn, findActiveIdsByIdIn and findWithImagesByIdIn
+    @Test
+    void productsByIdsUsePrimaryKey() {
+        assertUsesIndex("primary_key",
+                "SELECT id, name, price FROM products WHERE id IN (3, 5, 8) AND is_active = TRUE");
+    }
+    
+    // ProductRepository.findCategoryById, findStockQuantityById and findRatingSummaryById
+    @Test
+    void singleProductColumnLookupsUsePrimaryKey() {
+        assertUsesIndex("primary_key", "SELECT category, stock_quantity, average_rating FROM products WHERE id = 7");
+    }
+    
+    // CartRepository.findLinesByUserId, the cart load; both cart indexes lead with user_id
+    @Test
+    void cartLoadSeeksOnUserIndex() {
+        assertUsesIndex("idx_cart_items_user_",
+                "SELECT id, user_id, product_id, quantity, selected_size, selected_color, created_at, updated_at " +
+                "FROM cart_items WHERE user_id = " + someCartOwner() + " ORDER BY id");
+    }
+    
+    // CartRepository.findAbandonedCartOwners, one page of the purge walk
+    @Test
+    void abandonedCartScanUsesUserIndex() {
+        assertUsesIndex("idx_cart_items_user_",
+                "SELECT user_id FROM cart_items WHERE user_id > 0 GROUP BY user_id " +
+                "HAVING MAX(updated_at) < TIMESTAMP '2000-01-01 00:00:00' ORDER BY user_id LIMIT 500");
+    }
+    
+    // CartRepositoryImpl.replaceCarts, the per-user delete of every flush
+    @Test
+    void cartFlushDeleteSeeksOnUserIndex() {
+        assertUsesIndex("idx_cart_items_user_", "DELETE FROM cart_items WHERE user_id = " + someCartOwner());
+    }
+    
+    // CartRepositoryImpl.deleteAbandonedCarts, including its recent-owner check
+    @Test
+    void abandonedCartDeleteSeeksOnUserIndex() {
+        long owner = someCartOwner();
+        assertUsesIndex("idx_cart_items_user_",
+                "DELETE FROM cart_items WHERE user_id IN (" + owner + ") " +
+                "AND user_id NOT IN (SELECT user_id FROM (SELECT DISTINCT user_id FROM cart_items " +
+                "WHERE user_id IN (" + owner + ") AND updated_at >= TIMESTAMP '2000-01-01 00:00:00') recent)");
+    }
+    
+    // CartRepository.findUserIdById, the owner check for line updates
+    @Test
+    void cartLineOwnerLookupUsesPrimaryKey() {
+        assertUsesIndex("primary_key", "SELECT user_id FROM cart_items WHERE id = 3");
+    }
+    
+    private long someCartOwner() {
+        return jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM cart_items", Long.class);
+    }
+    
+    private void assertUsesIndex(String index, String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+    
+    private static User newUser() {
+        User user = new User();
+        user.setFirstName("Index");
+        user.setLastName("Probe");
+        user.setEmail("index-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.CUSTOMER);
+        user.setIsActive(true);
+        return user;
+    }
+}
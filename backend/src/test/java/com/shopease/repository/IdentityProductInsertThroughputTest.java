@@ -0,0 +1,26 @@
+package com.shopease.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The baseline: IDENTITY ids need each product and image row inserted on
+ * its own to read the generated key back, so only the specification rows
+ * batch.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdentityProductInsertThroughputTest extends AbstractProductInsertThroughputTest {
+    
+    @Override
+    String idStrategy() {
+        return "IDENTITY";
+    }
+    
+    @Override
+    void assertStatements(long statements) {
+        assertTrue(statements >= PRODUCTS * (1 + IMAGES_PER_PRODUCT), "statements: " + statements);
+    }
+}
@@ -0,0 +1,31 @@
+package com.shopease.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pooled-sequence ids: keys are handed out in blocks before the insert, so
+ * product, image and specification rows all go in JDBC batches. Runs on its
+ * own in-memory database and journal directory, because create-drop would
+ * otherwise rebuild the schema under the default test context.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pooledids",
+        "cart.journal.dir=target/cart-journal-pooled-ids"
+})
+@ActiveProfiles({"test", "pooled-ids"})
+class PooledIdProductInsertThroughputTest extends AbstractProductInsertThroughputTest {
+    
+    @Override
+    String idStrategy() {
+        return "pooled";
+    }
+    
+    // One statement per batch of 50 rows plus one sequence call per 50 ids; a tenth of the rows is ample headroom
+    @Override
+    void assertStatements(long statements) {
+        assertTrue(statements <= ROWS / 10, "statements: " + statements);
+    }
+}
@@ -0,0 +1,96 @@
+package com.shopease.repository;
+
+import com.shopease.dto.ProductCursor;
+import com.shopease.dto.ProductSummary;
+import com.shopease.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Walking a category page by page through encoded cursors returns every row
+ * exactly once and in sort order, including rows whose sort value is NULL
+ * and a name that reads "null".
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductKeysetPagingTest {
+    
+    private static final int PAGE_SIZE = 3;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Test
+    void ratingPagesIncludeUnratedProductsInBothDirections() {
+        String category = seedCategory();
+        List<Long> ascending = expectedOrder(category, false);
+        List<Long> descending = expectedOrder(category, true);
+        
+        assertEquals(ascending, walk(category, "averageRating", false));
+        assertEquals(descending, walk(category, "averageRating", true));
+    }
+    
+    @Test
+    void namePagesRoundTripALiteralNullName() {
+        String category = seedCategory();
+        List<Long> byName = productRepository.findAll().stream()
+                .filter(p -> category.equals(p.getCategory()))
+                .sorted(Comparator.comparing(Product::getName).thenComparing(Product::getId))
+                .map(Product::getId)
+                .toList();
+        
+        assertEquals(byName, walk(category, "name", false));
+    }
+    
+    // NULLs lowest: first ascending, last descending; ties broken by id in the same direction
+    private List<Long> expectedOrder(String category, boolean descending) {
+        Comparator<Product> order = Comparator.comparing(Product::getAverageRating,
+                Comparator.nullsFirst(Comparator.<Double>naturalOrder())).thenComparing(Product::getId);
+        return productRepository.findAll().stream()
+                .filter(p -> category.equals(p.getCategory()))
+                .sorted(descending ? order.reversed() : order)
+                .map(Product::getId)
+                .toList();
+    }
+    
+    // Pages the way ProductService does: one extra row, the cursor encoded and decoded between pages
+    private List<Long> walk(String category, String sortField, boolean descending) {
+        List<Long> seen = new ArrayList<>();
+        ProductCursor after = null;
+        while (true) {
+            List<ProductSummary> rows = productRepository.findSummariesAfter(category, sortField, descending,
+                    after, PAGE_SIZE + 1);
+            rows.stream().limit(PAGE_SIZE).forEach(row -> seen.add(row.getId()));
+            if (rows.size() <= PAGE_SIZE) {
+                return seen;
+            }
+            after = ProductCursor.decode(
+                    ProductCursor.after(sortField, descending, rows.get(PAGE_SIZE - 1)).encode());
+        }
+    }
+    
+    // Ten products: four unrated, two tied ratings, one named "null"
+    private String seedCategory() {
+        String category = "Keyset " + UUID.randomUUID();
+        Double[] ratings = { null, 4.5, null, 3.0, 3.0, null, 5.0, 1.0, null, 2.5 };
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ratings.length; i++) {
+            Product product = new Product(i == 4 ? "null" : "Keyset probe " + (char) ('a' + i % 5),
+                    "Keyset paging test product", new BigDecimal("9.99"), 10, category);
+            product.setAverageRating(ratings[i]);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+        return category;
+    }
+}
@@ -0,0 +1,89 @@
+package com.shopease.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A burst of attempts against one bucket lets exactly its capacity through,
+ * whether the racing threads share one local store or each hold their own
+ * store over a shared map, as separate nodes would. The refill rate is low
+ * enough that no token comes back while the burst runs.
+ */
+class TokenBucketConcurrencyTest {
+    
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 500;
+    private static final long CAPACITY = 100;
+    private static final double TOKENS_PER_SECOND = 1.0 / 3600;
+    
+    @Test
+    void localStoreAdmitsExactlyCapacityUnderContention() throws Exception {
+        LocalTokenBucketStore store = localStore(100);
+        assertEquals(CAPACITY, burst(() -> store));
+    }
+    
+    @Test
+    void sharedStoreAdmitsExactlyCapacityAcrossNodes() throws Exception {
+        ConcurrentHashMap<String, SharedMapTokenBucketStore.BucketState> shared = new ConcurrentHashMap<>();
+        assertEquals(CAPACITY, burst(() -> new SharedMapTokenBucketStore(shared)));
+    }
+    
+    @Test
+    void localStoreStaysWithinMaxEntries() {
+        int maxEntries = 1000;
+        LocalTokenBucketStore store = localStore(maxEntries);
+        for (int i = 0; i < maxEntries * 5; i++) {
+            store.tryConsume("ip:10.0." + i / 256 + "." + i % 256, 5, TOKENS_PER_SECOND);
+            assertTrue(store.size() <= maxEntries, "store grew to " + store.size());
+        }
+    }
+    
+    // Every thread gets its store from nodes, then all of them race on the same key
+    private static long burst(Supplier<TokenBucketStore> nodes) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long admitted = 0;
+        try {
+            List<Future<Integer>> workers = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                TokenBucketStore store = nodes.get();
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        if (store.tryConsume("email:burst@example.com", CAPACITY, TOKENS_PER_SECOND) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> worker : workers) {
+                admitted += worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return admitted;
+    }
+    
+    private static LocalTokenBucketStore localStore(int maxEntries) {
+        LocalTokenBucketStore store = new LocalTokenBucketStore();
+        ReflectionTestUtils.setField(store, "maxEntries", maxEntries);
+        return store;
+    }
+}
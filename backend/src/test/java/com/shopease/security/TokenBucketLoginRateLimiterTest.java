@@ -0,0 +1,91 @@
+package com.shopease.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Limits as configured in application.yml: 20 attempts per IP refilling at
+ * 10 a minute, 5 per email refilling at 2 a minute. The shared-map store
+ * runs on a hand-driven clock, so refill is exact. Retry-After rounds the
+ * wait up and adds a second: 31 for an empty email bucket, 7 for an IP.
+ */
+class TokenBucketLoginRateLimiterTest {
+    
+    private final AtomicLong nowMillis = new AtomicLong(1_000_000);
+    private final ConcurrentHashMap<String, SharedMapTokenBucketStore.BucketState> shared = new ConcurrentHashMap<>();
+    
+    @Test
+    void oneEmailIsLimitedAcrossAddresses() {
+        TokenBucketLoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("10.1.0." + i, "victim@example.com"));
+        }
+        // Normalized, so case and padding do not open a fresh bucket
+        long retryAfter = limiter.tryAcquire("10.1.0.99", "  Victim@Example.com ");
+        assertEquals(31, retryAfter);
+        assertEquals(0, limiter.tryAcquire("10.1.0.99", "someone-else@example.com"));
+    }
+    
+    @Test
+    void oneAddressIsLimitedAcrossEmails() {
+        TokenBucketLoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, limiter.tryAcquire("10.2.0.1", "spray-" + i + "@example.com"));
+        }
+        assertEquals(7, limiter.tryAcquire("10.2.0.1", "spray-20@example.com"));
+        assertEquals(0, limiter.tryAcquire("10.2.0.2", "spray-20@example.com"));
+    }
+    
+    @Test
+    void bucketRefillsAfterRetryAfter() {
+        TokenBucketLoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("10.3.0." + i, "refill@example.com");
+        }
+        long retryAfter = limiter.tryAcquire("10.3.0.9", "refill@example.com");
+        assertTrue(retryAfter > 0);
+        
+        nowMillis.addAndGet(retryAfter * 1000);
+        assertEquals(0, limiter.tryAcquire("10.3.0.9", "refill@example.com"));
+        assertTrue(limiter.tryAcquire("10.3.0.10", "refill@example.com") > 0);
+    }
+    
+    @Test
+    void nodesSharingAStoreShareTheLimit() {
+        TokenBucketLoginRateLimiter first = limiter();
+        TokenBucketLoginRateLimiter second = limiter();
+        for (int i = 0; i < 5; i++) {
+            TokenBucketLoginRateLimiter node = i % 2 == 0 ? first : second;
+            assertEquals(0, node.tryAcquire("10.4.0." + i, "shared@example.com"));
+        }
+        assertTrue(first.tryAcquire("10.4.0.9", "shared@example.com") > 0);
+        assertTrue(second.tryAcquire("10.4.0.9", "shared@example.com") > 0);
+    }
+    
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        TokenBucketLoginRateLimiter limiter = limiter();
+        ReflectionTestUtils.setField(limiter, "enabled", false);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire("10.5.0.1", "unlimited@example.com"));
+        }
+    }
+    
+    // A new limiter is a new node: its own store over the map every node shares
+    private TokenBucketLoginRateLimiter limiter() {
+        TokenBucketLoginRateLimiter limiter = new TokenBucketLoginRateLimiter();
+        ReflectionTestUtils.setField(limiter, "tokenBucketStore", new SharedMapTokenBucketStore(shared, nowMillis::get));
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "ipCapacity", 20L);
+        ReflectionTestUtils.setField(limiter, "ipRefillPerMinute", 10.0);
+        ReflectionTestUtils.setField(limiter, "emailCapacity", 5L);
+        ReflectionTestUtils.setField(limiter, "emailRefillPerMinute", 2.0);
+        return limiter;
+    }
+}
@@ -0,0 +1,87 @@
+package com.shopease.service;
+
+import com.shopease.cart.CartStore;
+import com.shopease.dto.CartResponse;
+import com.shopease.entity.Product;
+import com.shopease.entity.User;
+import com.shopease.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A cart read is one summary query however many lines the cart has.
+ * Background catalog refreshes are pushed out so they cannot add statements
+ * to the count.
+ */
+@SpringBootTest(properties = "catalog.facets.refresh-interval-ms=3600000")
+@ActiveProfiles("test")
+class CartReadStatementCountTest {
+    
+    @Autowired
+    private CartService cartService;
+    
+    @Autowired
+    private CartStore cartStore;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void cartReadIsOneStatementRegardlessOfLineCount() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(productService.saveProduct(new Product("Cart probe " + i, "Statement count test product",
+                    new BigDecimal("4.99"), 100, "Test")));
+        }
+        Long smallCart = newUser();
+        Long largeCart = newUser();
+        cartStore.addLine(smallCart, products.get(0).getId(), 1, null, null);
+        for (Product product : products) {
+            cartStore.addLine(largeCart, product.getId(), 2, "M", null);
+        }
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        long before = statistics.getPrepareStatementCount();
+        CartResponse small = cartService.getCart(smallCart, null);
+        long smallStatements = statistics.getPrepareStatementCount() - before;
+        
+        before = statistics.getPrepareStatementCount();
+        CartResponse large = cartService.getCart(largeCart, null);
+        long largeStatements = statistics.getPrepareStatementCount() - before;
+        
+        assertEquals(1, small.getItems().size());
+        assertEquals(5, large.getItems().size());
+        assertEquals(1, smallStatements);
+        assertEquals(1, largeStatements);
+    }
+    
+    private Long newUser() {
+        User user = new User();
+        user.setFirstName("Cart");
+        user.setLastName("Reader");
+        user.setEmail("cart-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.CUSTOMER);
+        user.setIsActive(true);
+        return userRepository.save(user).getId();
+    }
+}
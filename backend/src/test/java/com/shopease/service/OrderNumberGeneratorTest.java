@@ -0,0 +1,92 @@
+package com.shopease.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderNumberGeneratorTest {
+    
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+    
+    // Far more ids than fit in one millisecond's sequence, so overflow carries are exercised too
+    @Test
+    void idsAreUniqueAcrossThreadsAndIncreasingWithinEach() throws Exception {
+        OrderNumberGenerator generator = generator(0);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> workers = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    long previous = Long.MIN_VALUE;
+                    boolean increasing = true;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        long id = generator.nextId();
+                        increasing &= id > previous;
+                        previous = id;
+                        seen.add(id);
+                    }
+                    return increasing;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> worker : workers) {
+                assertTrue(worker.get(30, TimeUnit.SECONDS), "ids went backwards within a thread");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        assertEquals(THREADS * IDS_PER_THREAD, seen.size());
+    }
+    
+    @Test
+    void nodeIdSeparatesGenerators() {
+        long first = generator(1).nextId();
+        long second = generator(2).nextId();
+        
+        assertEquals(1, (first >>> 12) & 0x3FF);
+        assertEquals(2, (second >>> 12) & 0x3FF);
+    }
+    
+    @Test
+    void orderNumbersAreFixedWidthAndSortInIssueOrder() {
+        OrderNumberGenerator generator = generator(0);
+        String previous = generator.nextOrderNumber();
+        for (int i = 0; i < 1000; i++) {
+            String next = generator.nextOrderNumber();
+            assertTrue(next.matches("ORD-[0-9A-Z]{13}"), next);
+            assertTrue(next.compareTo(previous) > 0, previous + " then " + next);
+            previous = next;
+        }
+    }
+    
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThrows(IllegalStateException.class, () -> generator(1024));
+        assertThrows(IllegalStateException.class, () -> generator(-1));
+    }
+    
+    private static OrderNumberGenerator generator(long nodeId) {
+        OrderNumberGenerator generator = new OrderNumberGenerator();
+        ReflectionTestUtils.setField(generator, "nodeId", nodeId);
+        generator.validateNodeId();
+        return generator;
+    }
+}
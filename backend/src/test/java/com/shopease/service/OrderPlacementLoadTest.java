@@ -0,0 +1,139 @@
+package com.shopease.service;
+
+import com.shopease.cart.CartStore;
+import com.shopease.dto.OrderResponse;
+import com.shopease.dto.PlaceOrderRequest;
+import com.shopease.entity.Order;
+import com.shopease.entity.Product;
+import com.shopease.entity.User;
+import com.shopease.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many shoppers checking out the same scarce product at once. Every order
+ * either commits with its stock or rolls back whole; the number of orders
+ * matches the stock, and no holds are left behind in the ledger.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderPlacementLoadTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OrderPlacementLoadTest.class);
+    
+    private static final int SHOPPERS = 120;
+    private static final int STOCK = 40;
+    private static final int THREADS = 16;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private StockLedger stockLedger;
+    
+    @Autowired
+    private CartStore cartStore;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void concurrentCheckoutsSellExactlyTheStock() throws Exception {
+        Product product = productService.saveProduct(new Product("Load probe", "Order load test product",
+                new BigDecimal("19.99"), STOCK, "Test"));
+        List<Long> shoppers = new ArrayList<>(SHOPPERS);
+        for (int i = 0; i < SHOPPERS; i++) {
+            User user = userRepository.save(newUser(i));
+            cartStore.addLine(user.getId(), product.getId(), 1, null, null);
+            shoppers.add(user.getId());
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> checkouts = new ArrayList<>(SHOPPERS);
+        for (Long userId : shoppers) {
+            checkouts.add(pool.submit(() -> {
+                start.await();
+                return orderService.placeOrder(userId, newRequest());
+            }));
+        }
+        
+        long began = System.nanoTime();
+        start.countDown();
+        Set<String> orderNumbers = new HashSet<>();
+        int rejected = 0;
+        try {
+            for (Future<OrderResponse> checkout : checkouts) {
+                try {
+                    orderNumbers.add(checkout.get(60, TimeUnit.SECONDS).getOrderNumber());
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause().getMessage().startsWith("Insufficient stock"),
+                            "Unexpected checkout failure: " + e.getCause());
+                    rejected++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        logger.info("{} checkouts on {} threads in {} ms ({} orders, {} rejected)",
+                SHOPPERS, THREADS, elapsedMs, orderNumbers.size(), rejected);
+        
+        assertEquals(STOCK, orderNumbers.size());
+        assertEquals(SHOPPERS - STOCK, rejected);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM products WHERE id = ?", Integer.class, product.getId()));
+        assertEquals(STOCK, jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM order_items WHERE product_id = ?", Integer.class, product.getId()));
+        assertEquals(0, stockLedger.getAvailable(product.getId()));
+    }
+    
+    private static User newUser(int index) {
+        User user = new User();
+        user.setFirstName("Load");
+        user.setLastName("Shopper " + index);
+        user.setEmail("load-" + index + "-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.CUSTOMER);
+        user.setIsActive(true);
+        return user;
+    }
+    
+    private static PlaceOrderRequest newRequest() {
+        PlaceOrderRequest request = new PlaceOrderRequest();
+        request.setPaymentMethod(Order.PaymentMethod.CREDIT_CARD);
+        request.setShippingFirstName("Load");
+        request.setShippingLastName("Shopper");
+        request.setShippingAddress("1 Test Street");
+        request.setShippingCity("Testville");
+        request.setShippingZipCode("12345");
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.shopease.service;
+
+import com.shopease.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stock decrements are single conditional UPDATEs; buyers racing for the
+ * same units must never take more than is on hand.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StockDecrementConcurrencyTest {
+    
+    private static final int THREADS = 16;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void concurrentSingleUnitDecrementsSellExactlyTheStock() throws Exception {
+        Product product = newProduct(25);
+        
+        int sold = countSuccesses(100, () -> productService.updateStock(product.getId(), 1));
+        
+        assertEquals(25, sold);
+        assertEquals(0, stockOf(product.getId()));
+    }
+    
+    @Test
+    void decrementsLargerThanTheRemainderAreRejected() throws Exception {
+        Product product = newProduct(10);
+        
+        int sold = countSuccesses(40, () -> productService.updateStock(product.getId(), 3));
+        
+        assertEquals(3, sold);
+        assertEquals(1, stockOf(product.getId()));
+    }
+    
+    @Test
+    void concurrentBatchDecrementsNeverOversellAnyLine() throws Exception {
+        Product first = newProduct(30);
+        Product second = newProduct(12);
+        
+        // Every line is conditional on its own row and reported on its own
+        List<Map<Long, Boolean>> outcomes = Collections.synchronizedList(new ArrayList<>());
+        countSuccesses(60, () -> outcomes.add(productService.updateStock(Map.of(first.getId(), 1, second.getId(), 1))));
+        
+        assertEquals(30, outcomes.stream().filter(outcome -> outcome.get(first.getId())).count());
+        assertEquals(12, outcomes.stream().filter(outcome -> outcome.get(second.getId())).count());
+        assertEquals(0, stockOf(first.getId()));
+        assertEquals(0, stockOf(second.getId()));
+    }
+    
+    private Product newProduct(int stock) {
+        return productService.saveProduct(new Product("Stock probe", "Concurrency test product",
+                new BigDecimal("9.99"), stock, "Test"));
+    }
+    
+    private int stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+    
+    // Release all attempts at once and count those that took stock
+    private int countSuccesses(int attempts, Callable<Boolean> attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(attempts);
+            for (int i = 0; i < attempts; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return attempt.call();
+                }));
+            }
+            start.countDown();
+            int successes = 0;
+            for (Future<Boolean> result : results) {
+                if (Boolean.TRUE.equals(result.get(30, TimeUnit.SECONDS))) {
+                    successes++;
+                }
+            }
+            return successes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -94,8 +94,10 @@ class ApiService {
     }
     
     // Cart APIs
-    static async getCartItems(userId) {
-        return this.request(`/cart/${userId}`);
+    // Returns { items, totals }; totals are computed server-side
+    static async getCartItems(userId, couponCode) {
+        const query = couponCode ? `?couponCode=${encodeURIComponent(couponCode)}` : '';
+        return this.request(`/cart/${userId}${query}`);
     }
     
     static async addToCart(cartItem) {
@@ -105,6 +107,7 @@ class ApiService {
         });
     }
     
+    // Cart item ids are strings (they do not fit in a JS number); pass them through unchanged
     static async updateCartItem(cartItemId, quantity) {
         return this.request(`/cart/update/${cartItemId}?quantity=${quantity}`, {
             method: 'PUT'
@@ -117,6 +120,15 @@ class ApiService {
         });
     }
     
+    // operations: [{ type: 'add', productId, quantity, selectedSize, selectedColor },
+    //              { type: 'update', cartItemId, quantity }, { type: 'remove', cartItemId }]
+    static async updateCart(userId, operations) {
+        return this.request(`/cart/${userId}`, {
+            method: 'PATCH',
+            body: JSON.stringify({ operations })
+        });
+    }
+    
     static async clearCart(userId) {
         return this.request(`/cart/clear/${userId}`, {
             method: 'DELETE'
@@ -126,6 +138,36 @@ class ApiService {
     static async getCartItemCount(userId) {
         return this.request(`/cart/count/${userId}`);
     }
+    
+    // Order APIs
+    // order: shipping and payment details; the order is placed for the signed-in user's cart
+    static async placeOrder(order) {
+        return this.request('/orders', {
+            method: 'POST',
+            body: JSON.stringify(order)
+        });
+    }
+    
+    static async getOrders() {
+        return this.request('/orders/me');
+    }
+    
+    // Review APIs
+    static async getReviews(productId, cursor, size = 10, verifiedOnly = false) {
+        const params = new URLSearchParams({ size, verified: verifiedOnly });
+        if (cursor) {
+            params.set('cursor', cursor);
+        }
+        return this.request(`/reviews/product/${productId}?${params}`);
+    }
+    
+    // review: { rating, comment }; the reviewer is the signed-in user, and a second submission edits the first
+    static async submitReview(productId, review) {
+        return this.request(`/reviews/product/${productId}`, {
+            method: 'POST',
+            body: JSON.stringify(review)
+        });
+    }
 }
 
 // Export for use in other files